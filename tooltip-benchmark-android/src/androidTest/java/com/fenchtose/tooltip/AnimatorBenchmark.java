@@ -0,0 +1,110 @@
+package com.fenchtose.tooltip;
+
+import android.animation.Animator;
+import android.content.Context;
+import android.graphics.Point;
+import android.os.Build;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Animator created by Tooltip.getAnimator when the tooltip is shown and dismissed, for every
+ * {@link TooltipAnimation} type and position. This is the {@link AnimationUtils} work done in the
+ * frame which shows or dismisses the tooltip.
+ * <br><br>
+ * Tooltip is built but not attached. Animators are only created, they don't need a looper until
+ * they are started.
+ */
+@RunWith(Parameterized.class)
+public class AnimatorBenchmark {
+
+    private static final int[] TYPES = {
+            TooltipAnimation.NONE,
+            TooltipAnimation.FADE,
+            TooltipAnimation.REVEAL,
+            TooltipAnimation.SCALE,
+            TooltipAnimation.SCALE_AND_FADE,
+    };
+
+    @Parameterized.Parameters(name = "type={0},position={1}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int type : TYPES) {
+            for (int position=Tooltip.LEFT; position<=Tooltip.BOTTOM; position++) {
+                parameters.add(new Object[] {type, position});
+            }
+        }
+
+        return parameters;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int position;
+    private final TooltipAnimation animation;
+
+    private final Point point = new Point(300, 240);
+    private final int[] size = {600, 240};
+
+    private Tooltip tooltip;
+    private Animator animator;
+
+    public AnimatorBenchmark(int type, int position) {
+        this.position = position;
+        this.animation = new TooltipAnimation(type, 400);
+    }
+
+    @Before
+    public void setup() {
+        Assume.assumeTrue("Reveal is supported on sdk 21 and above",
+                animation.getType() != TooltipAnimation.REVEAL || Build.VERSION.SDK_INT >= 21);
+
+        final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                FrameLayout root = new FrameLayout(context);
+                View anchor = new View(context);
+                root.addView(anchor);
+
+                tooltip = new Tooltip.Builder(context)
+                        .anchor(anchor, position)
+                        .content(new View(context))
+                        .into(root)
+                        .animate(animation)
+                        .build();
+            }
+        });
+    }
+
+    @Test
+    public void animateIn() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            animator = tooltip.getAnimator(animation, point, size, true);
+        }
+    }
+
+    @Test
+    public void animateOut() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            animator = tooltip.getAnimator(animation, point, size, false);
+        }
+    }
+}
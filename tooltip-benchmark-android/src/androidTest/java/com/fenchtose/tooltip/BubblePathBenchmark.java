@@ -0,0 +1,86 @@
+package com.fenchtose.tooltip;
+
+import android.graphics.Path;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bubble path built by Tooltip.layoutContent in lite mode and for the elevation outline, for every
+ * side of the tip. It's in the library package because {@link BubblePath} is package private.
+ * <br><br>
+ * Path is the framework path, so the build cases include the native path building.
+ */
+@RunWith(Parameterized.class)
+public class BubblePathBenchmark {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 240;
+    private static final float CORNER_RADIUS = 24;
+    private static final float TIP_RADIUS = 6;
+
+    @Parameterized.Parameters(name = "position={0},showTip={1}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int position=Tooltip.LEFT; position<=Tooltip.BOTTOM; position++) {
+            parameters.add(new Object[] {position, true});
+            parameters.add(new Object[] {position, false});
+        }
+
+        return parameters;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int position;
+    private final boolean showTip;
+
+    private final TooltipPlacementEngine.Result placement = new TooltipPlacementEngine.Result();
+    private final float[] vertices = new float[BubblePath.MAX_VERTICES * 3];
+    private final Path path = new Path();
+
+    private int count;
+
+    public BubblePathBenchmark(int position, boolean showTip) {
+        this.position = position;
+        this.showTip = showTip;
+    }
+
+    @Before
+    public void setup() {
+        TooltipPlacementEngine.place(980, 1200, 96, 96,
+                0, 0, 1080, 1920,
+                WIDTH, HEIGHT, 24,
+                36, 24, showTip,
+                position, true, placement);
+    }
+
+    @Test
+    public void vertices() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            count = BubblePath.vertices(vertices, WIDTH, HEIGHT, CORNER_RADIUS,
+                    placement, position, placement.left, placement.top, TIP_RADIUS);
+        }
+    }
+
+    @Test
+    public void verticesAndBuild() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            count = BubblePath.vertices(vertices, WIDTH, HEIGHT, CORNER_RADIUS,
+                    placement, position, placement.left, placement.top, TIP_RADIUS);
+            BubblePath.build(path, vertices, count, 0, 0);
+        }
+    }
+}
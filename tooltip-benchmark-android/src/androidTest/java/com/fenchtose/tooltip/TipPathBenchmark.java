@@ -0,0 +1,64 @@
+package com.fenchtose.tooltip;
+
+import android.graphics.Color;
+import android.graphics.Path;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tip path of {@link TipCache} for every position. build is the path built by the first tooltip
+ * with a tip spec, cached is the lookup done by every other tooltip with an equal spec.
+ */
+@RunWith(Parameterized.class)
+public class TipPathBenchmark {
+
+    private static final int TIP_WIDTH = 36;
+    private static final int TIP_HEIGHT = 24;
+
+    @Parameterized.Parameters(name = "position={0}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int position=Tooltip.LEFT; position<=Tooltip.BOTTOM; position++) {
+            parameters.add(new Object[] {position});
+        }
+
+        return parameters;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int position;
+
+    private Path path;
+
+    public TipPathBenchmark(int position) {
+        this.position = position;
+    }
+
+    @Test
+    public void build() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            path = TipCache.buildPath(TIP_WIDTH, TIP_HEIGHT, position);
+        }
+    }
+
+    @Test
+    public void cached() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            // New spec every time, like every tooltip has
+            path = TipCache.path(new Tooltip.Tip(TIP_WIDTH, TIP_HEIGHT, Color.BLACK, 6), position);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.fenchtose.tooltip;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Placement computation done by Tooltip.doLayout for every position, with and without the tip.
+ * The tip cases include the computation of the tip vertices which the tip path is built from.
+ * <br><br>
+ * Anchor is placed near the right edge of a phone sized holder so that autoAdjust has to clamp
+ * the content for TOP and BOTTOM.
+ */
+@State(Scope.Thread)
+public class PlacementBenchmark {
+
+    @Param({"0", "1", "2", "3", "4"})
+    public int position;
+
+    @Param({"true", "false"})
+    public boolean showTip;
+
+    @Param({"true", "false"})
+    public boolean autoAdjust;
+
+    private final TooltipPlacementEngine.Result result = new TooltipPlacementEngine.Result();
+
+    private int anchorX;
+    private int anchorY;
+
+    @Setup
+    public void setup() {
+        anchorX = 980;
+        anchorY = 1200;
+    }
+
+    @Benchmark
+    public void place(Blackhole blackhole) {
+        TooltipPlacementEngine.place(anchorX, anchorY, 96, 96,
+                0, 0, 1080, 1920,
+                600, 240, 24,
+                36, 24, showTip,
+                position, autoAdjust, result);
+
+        blackhole.consume(result.left);
+        blackhole.consume(result.top);
+        blackhole.consume(result.pointX);
+        blackhole.consume(result.pointY);
+        blackhole.consume(result.tipX1);
+        blackhole.consume(result.tipY2);
+    }
+}
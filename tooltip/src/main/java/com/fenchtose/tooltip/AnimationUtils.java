@@ -2,6 +2,7 @@ package com.fenchtose.tooltip;
 
 import android.animation.Animator;
 import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.os.Build;
 import android.view.View;
@@ -11,9 +12,14 @@ import androidx.annotation.NonNull;
 
 /**
  * Helper class to create Animator Objects
+ * <br><br>
+ * On API 14 and above, animators use typed {@link View} properties ({@link View#ALPHA}, {@link View#SCALE_X},
+ * {@link View#SCALE_Y}) so that setters are not looked up with reflection.
  */
 public class AnimationUtils {
 
+    private static final boolean HAS_VIEW_PROPERTIES = Build.VERSION.SDK_INT >= 14;
+
     /**
      * Fade Animation
      * @param view View to be animated
@@ -24,7 +30,9 @@ public class AnimationUtils {
      */
     @NonNull
     public static Animator fade(@NonNull final View view, float fromAlpha, float toAlpha, int duration) {
-        ObjectAnimator animator = ObjectAnimator.ofFloat(view, "alpha", fromAlpha, toAlpha);
+        ObjectAnimator animator = HAS_VIEW_PROPERTIES
+                ? ObjectAnimator.ofFloat(view, View.ALPHA, fromAlpha, toAlpha)
+                : ObjectAnimator.ofFloat(view, "alpha", fromAlpha, toAlpha);
         animator.setDuration(duration);
         return animator;
     }
@@ -69,7 +77,9 @@ public class AnimationUtils {
     public static Animator scaleY(@NonNull View view, int pivotX, int pivotY, float fromScale, float toScale, int duration) {
         view.setPivotX(pivotX);
         view.setPivotY(pivotY);
-        Animator animator = ObjectAnimator.ofFloat(view, "scaleY", fromScale, toScale);
+        Animator animator = HAS_VIEW_PROPERTIES
+                ? ObjectAnimator.ofFloat(view, View.SCALE_Y, fromScale, toScale)
+                : ObjectAnimator.ofFloat(view, "scaleY", fromScale, toScale);
         animator.setDuration(duration);
         return animator;
     }
@@ -89,7 +99,56 @@ public class AnimationUtils {
     public static Animator scaleX(@NonNull View view, int pivotX, int pivotY, float fromScale, float toScale, int duration) {
         view.setPivotX(pivotX);
         view.setPivotY(pivotY);
-        Animator animator = ObjectAnimator.ofFloat(view, "scaleX", fromScale, toScale);
+        Animator animator = HAS_VIEW_PROPERTIES
+                ? ObjectAnimator.ofFloat(view, View.SCALE_X, fromScale, toScale)
+                : ObjectAnimator.ofFloat(view, "scaleX", fromScale, toScale);
+        animator.setDuration(duration);
+        return animator;
+    }
+
+    /**
+     * Single animator which animates scale of one view and alpha of another view, without an AnimatorSet.
+     *
+     * @param scaleView View to be scaled
+     * @param fadeView View to be faded
+     * @param horizontal scale X if true, scale Y otherwise. Other scale is constant
+     * @param pivotX x coordinate of the pivot of scaleView
+     * @param pivotY y coordinate of the pivot of scaleView
+     * @param fromScale initial scale
+     * @param toScale final scale
+     * @param fromAlpha initial alpha
+     * @param toAlpha final alpha
+     * @param duration animation duration in milliseconds
+     * @return Animator Object
+     */
+    @NonNull
+    public static Animator scaleAndFade(@NonNull final View scaleView, @NonNull final View fadeView,
+                                        final boolean horizontal, int pivotX, int pivotY,
+                                        final float fromScale, final float toScale,
+                                        final float fromAlpha, final float toAlpha, int duration) {
+        scaleView.setPivotX(pivotX);
+        scaleView.setPivotY(pivotY);
+
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 1);
+        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                // Fraction is not boxed
+                float fraction = Build.VERSION.SDK_INT >= 12
+                        ? animation.getAnimatedFraction()
+                        : (Float) animation.getAnimatedValue();
+
+                float scale = fromScale + (toScale - fromScale) * fraction;
+                if (horizontal) {
+                    scaleView.setScaleX(scale);
+                } else {
+                    scaleView.setScaleY(scale);
+                }
+
+                fadeView.setAlpha(fromAlpha + (toAlpha - fromAlpha) * fraction);
+            }
+        });
+
         animator.setDuration(duration);
         return animator;
     }
@@ -0,0 +1,144 @@
+package com.fenchtose.tooltip;
+
+import android.graphics.Path;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Outline of the bubble and the tip as one polygon with rounded vertices. Used by the lite mode
+ * and the elevation outline of the {@link Tooltip}.
+ * <br><br>
+ * Vertices are kept in a caller supplied float array, x, y and corner radius of each vertex,
+ * so building the path does not allocate. Positions are compared with the {@link TooltipPlacementEngine}
+ * constants, so that it only depends on {@link Path} and can be benchmarked on a plain JVM.
+ */
+final class BubblePath {
+
+    /**
+     * Four corners of the bubble and three vertices of the tip
+     */
+    static final int MAX_VERTICES = 7;
+
+    private BubblePath() {
+    }
+
+    /**
+     * Vertices of the bubble with the tip on the side of the anchor, clockwise, relative to the content.
+     * Base of the tip is kept on the side of the bubble.
+     *
+     * @param out vertices, at least {@link #MAX_VERTICES} * 3 long
+     * @param w width of the content
+     * @param h height of the content
+     * @param cornerRadius radius of the bubble corners
+     * @param placement placement of the content and the tip
+     * @param position side of the anchor, {@link Tooltip.Position}
+     * @param left left of the content in the placement coordinates
+     * @param top top of the content in the placement coordinates
+     * @param tipRadius radius of the top vertex of the tip
+     * @return number of vertices
+     */
+    static int vertices(@NonNull float[] out, int w, int h, float cornerRadius,
+                        @NonNull TooltipPlacementEngine.Result placement, int position,
+                        int left, int top, float tipRadius) {
+
+        boolean hasTip = placement.hasTip;
+        float ax = placement.tipX0 - left;
+        float ay = placement.tipY0 - top;
+        float x1 = Math.max(0, Math.min(w, placement.tipX1 - left));
+        float y1 = Math.max(0, Math.min(h, placement.tipY1 - top));
+        float x2 = Math.max(0, Math.min(w, placement.tipX2 - left));
+        float y2 = Math.max(0, Math.min(h, placement.tipY2 - top));
+
+        int count = 0;
+        count = add(out, count, 0, 0, cornerRadius);
+
+        if (hasTip && position == TooltipPlacementEngine.BOTTOM) {
+            // Tip on the top side, left to right
+            count = addTip(out, count, Math.min(x1, x2), 0, ax, ay, Math.max(x1, x2), 0, tipRadius);
+        }
+
+        count = add(out, count, w, 0, cornerRadius);
+
+        if (hasTip && position == TooltipPlacementEngine.LEFT) {
+            // Tip on the right side, top to bottom
+            count = addTip(out, count, w, Math.min(y1, y2), ax, ay, w, Math.max(y1, y2), tipRadius);
+        }
+
+        count = add(out, count, w, h, cornerRadius);
+
+        if (hasTip && position == TooltipPlacementEngine.TOP) {
+            // Tip on the bottom side, right to left
+            count = addTip(out, count, Math.max(x1, x2), h, ax, ay, Math.min(x1, x2), h, tipRadius);
+        }
+
+        count = add(out, count, 0, h, cornerRadius);
+
+        if (hasTip && position == TooltipPlacementEngine.RIGHT) {
+            // Tip on the left side, bottom to top
+            count = addTip(out, count, 0, Math.max(y1, y2), ax, ay, 0, Math.min(y1, y2), tipRadius);
+        }
+
+        return count;
+    }
+
+    /**
+     * Build the closed path of the polygon. Each vertex is rounded with its radius.
+     *
+     * @param path path to build, it's rewound first
+     * @param v vertices, x, y and radius of each
+     * @param count number of vertices
+     * @param dx offset of the path
+     * @param dy offset of the path
+     */
+    static void build(@NonNull Path path, @NonNull float[] v, int count, float dx, float dy) {
+        path.rewind();
+
+        for (int i=0; i<count; i++) {
+            int prev = ((i + count - 1) % count) * 3;
+            int cur = i * 3;
+            int next = ((i + 1) % count) * 3;
+
+            float x = v[cur];
+            float y = v[cur + 1];
+            float radius = v[cur + 2];
+
+            float inDx = v[prev] - x;
+            float inDy = v[prev + 1] - y;
+            float outDx = v[next] - x;
+            float outDy = v[next + 1] - y;
+            float inLength = (float) Math.sqrt(inDx * inDx + inDy * inDy);
+            float outLength = (float) Math.sqrt(outDx * outDx + outDy * outDy);
+
+            // Corner can take at most half of each edge
+            float inRadius = inLength > 0 ? Math.min(radius, inLength / 2) / inLength : 0;
+            float outRadius = outLength > 0 ? Math.min(radius, outLength / 2) / outLength : 0;
+
+            float startX = dx + x + inDx * inRadius;
+            float startY = dy + y + inDy * inRadius;
+            if (i == 0) {
+                path.moveTo(startX, startY);
+            } else {
+                path.lineTo(startX, startY);
+            }
+
+            path.quadTo(dx + x, dy + y, dx + x + outDx * outRadius, dy + y + outDy * outRadius);
+        }
+
+        path.close();
+    }
+
+    private static int add(@NonNull float[] out, int count, float x, float y, float radius) {
+        int index = count * 3;
+        out[index] = x;
+        out[index + 1] = y;
+        out[index + 2] = radius;
+        return count + 1;
+    }
+
+    private static int addTip(@NonNull float[] out, int count, float x1, float y1, float ax, float ay,
+                              float x2, float y2, float radius) {
+        count = add(out, count, x1, y1, 0);
+        count = add(out, count, ax, ay, radius);
+        return add(out, count, x2, y2, 0);
+    }
+}
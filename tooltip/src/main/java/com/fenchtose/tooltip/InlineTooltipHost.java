@@ -0,0 +1,39 @@
+package com.fenchtose.tooltip;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Adds the {@link Tooltip} to the root view with MATCH_PARENT for width and height.
+ * <br><br>
+ * Adding and removing the tooltip changes the children of the root view, which causes a layout pass
+ * of the root view.
+ */
+public class InlineTooltipHost implements TooltipHost {
+
+    @Override
+    public void attach(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        // Recycled tooltips keep the params they were last added with
+        ViewGroup.LayoutParams params = tooltip.getLayoutParams();
+        if (params == null) {
+            params = new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.MATCH_PARENT);
+        }
+
+        root.addView(tooltip, params);
+    }
+
+    @Override
+    public void detach(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        ViewGroup parent = (ViewGroup) tooltip.getParent();
+        if (parent != null) {
+            parent.removeView(tooltip);
+        }
+    }
+
+    @Override
+    public boolean isSeparateWindow() {
+        return false;
+    }
+}
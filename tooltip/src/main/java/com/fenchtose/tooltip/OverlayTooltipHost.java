@@ -0,0 +1,98 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adds the {@link Tooltip} to the {@link android.view.ViewGroupOverlay} of the root view.
+ * <br><br>
+ * Children of the root view are not changed, so the root view is not laid out again when the tooltip
+ * is shown or dismissed. Overlay does not lay out its views, so the host measures and lays out the tooltip
+ * itself, with the size of the root view, whenever the tooltip requests a layout.
+ * <br><br>
+ * Views in the overlay do not receive touch events. The tooltip is not dismissed when touched and the
+ * content can not be clicked. Use {@link Tooltip.Builder#autoCancel(int)} or {@link Tooltip#dismiss()}.
+ * <br><br>
+ * Overlay is supported on API 18 and above. Tooltip is added inline on older versions.
+ */
+public class OverlayTooltipHost implements TooltipHost {
+
+    private static final String TAG = "OverlayTooltipHost";
+
+    private final InlineTooltipHost fallback = new InlineTooltipHost();
+    private final Map<Tooltip, ViewTreeObserver.OnPreDrawListener> layoutListeners = new HashMap<>();
+
+    @Override
+    public void attach(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        if (Build.VERSION.SDK_INT < 18) {
+            Log.e(TAG, "Overlay is supported on sdk 18 and above");
+            fallback.attach(root, tooltip);
+            return;
+        }
+
+        addToOverlay(root, tooltip);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private void addToOverlay(@NonNull final ViewGroup root, @NonNull final Tooltip tooltip) {
+        root.getOverlay().add(tooltip);
+        layout(root, tooltip);
+
+        ViewTreeObserver.OnPreDrawListener listener = new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                if (tooltip.isLayoutRequested()
+                        || tooltip.getWidth() != root.getWidth() || tooltip.getHeight() != root.getHeight()) {
+                    layout(root, tooltip);
+                }
+
+                return true;
+            }
+        };
+
+        layoutListeners.put(tooltip, listener);
+        root.getViewTreeObserver().addOnPreDrawListener(listener);
+    }
+
+    private static void layout(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        int width = root.getWidth();
+        int height = root.getHeight();
+        tooltip.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        tooltip.layout(0, 0, width, height);
+    }
+
+    @Override
+    public void detach(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        if (Build.VERSION.SDK_INT < 18) {
+            fallback.detach(root, tooltip);
+            return;
+        }
+
+        removeFromOverlay(root, tooltip);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private void removeFromOverlay(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        ViewTreeObserver.OnPreDrawListener listener = layoutListeners.remove(tooltip);
+        if (listener != null) {
+            root.getViewTreeObserver().removeOnPreDrawListener(listener);
+        }
+
+        root.getOverlay().remove(tooltip);
+    }
+
+    @Override
+    public boolean isSeparateWindow() {
+        return false;
+    }
+}
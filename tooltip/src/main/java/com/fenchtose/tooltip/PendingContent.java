@@ -0,0 +1,30 @@
+package com.fenchtose.tooltip;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Content of a tooltip which is prepared in the background, eg. inflated with {@link TooltipInflater}.
+ * Tooltip is added to the root view when the content is ready.
+ */
+interface PendingContent {
+
+    /**
+     * Drop the content. Callback is not called.
+     */
+    void cancel();
+
+    interface Callback {
+        /**
+         * Called on the main thread when the content is ready
+         */
+        void onReady(@NonNull View view);
+
+        /**
+         * Called on the main thread when the content will never be ready, eg. the Activity is destroyed
+         * before the content is inflated
+         */
+        void onDropped();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fenchtose.tooltip;
+
+import android.os.Build;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@link TooltipTracer} which writes the sections to {@link Trace}, so that they show up in system traces.
+ * <br><br>
+ * Trace is supported on sdk 18 and above. Nothing is written below that.
+ */
+public class SystemTooltipTracer implements TooltipTracer {
+
+    private static final boolean SUPPORTED = Build.VERSION.SDK_INT >= 18;
+
+    @Override
+    public void beginSection(@NonNull String name) {
+        if (SUPPORTED) {
+            Trace.beginSection(name);
+        }
+    }
+
+    @Override
+    public void endSection() {
+        if (SUPPORTED) {
+            Trace.endSection();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.Log;
+import android.view.View;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Lightweight content for plain text tooltips. See {@link Tooltip.Builder#content(CharSequence, Style)}.
+ * <br><br>
+ * It's a single view which draws its background and a {@link StaticLayout} of the text, so there is
+ * nothing to inflate and no TextView to measure. The text layout is computed on a background thread
+ * before the tooltip is shown, and measuring the view only reads its size.
+ * <br><br>
+ * Text is wrapped to {@link Style#maxWidth(int)} and to the width of the root view. If the view is still
+ * measured narrower than the text, eg. for {@link Tooltip#LEFT} and {@link Tooltip#RIGHT}, the layout is
+ * computed again on the main thread.
+ */
+@SuppressLint("ViewConstructor")
+public class TextTooltip extends View {
+
+    private static final String TAG = "TextTooltip";
+
+    private final Style style;
+    private Layout layout;
+    private int textWidth;
+    private final RectF bounds = new RectF();
+
+    private TextTooltip(@NonNull Context context, @NonNull Style style, @NonNull Layout layout) {
+        super(context);
+        this.style = style;
+        setLayout(layout);
+    }
+
+    private void setLayout(@NonNull Layout layout) {
+        this.layout = layout;
+
+        float width = 0;
+        for (int i=0; i<layout.getLineCount(); i++) {
+            width = Math.max(width, layout.getLineWidth(i));
+        }
+
+        this.textWidth = (int) Math.ceil(width);
+    }
+
+    /**
+     * Create the view, with the text layout computed on the calling thread
+     * @param availableWidth width available to the tooltip in pixels, 0 if it's not known
+     */
+    @NonNull
+    static TextTooltip create(@NonNull Context context, @NonNull CharSequence text, @NonNull Style style,
+                              int availableWidth) {
+        return new TextTooltip(context, style, buildLayout(text, style, availableWidth));
+    }
+
+    /**
+     * Compute the text layout on the background thread and create the view on the main thread
+     * @param availableWidth width available to the tooltip in pixels, 0 if it's not known
+     */
+    @NonNull
+    static PendingContent prepare(@NonNull Context context, @NonNull CharSequence text, @NonNull Style style,
+                                  int availableWidth, @NonNull PendingContent.Callback callback) {
+        Request request = new Request(context, text, style, availableWidth, callback);
+        TooltipExecutor.background().execute(request);
+        return request;
+    }
+
+    @NonNull
+    public CharSequence getText() {
+        return layout.getText();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int padding = style.padding;
+        int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+        if (MeasureSpec.getMode(widthMeasureSpec) != MeasureSpec.UNSPECIFIED
+                && widthSize < textWidth + 2 * padding
+                && layout.getWidth() > Math.max(1, widthSize - 2 * padding)) {
+            // Narrower than the text was wrapped for. Wrap it again so that it isn't clipped.
+            setLayout(buildLayout(layout.getText(), style, widthSize));
+        }
+
+        setMeasuredDimension(resolveSize(textWidth + 2 * padding, widthMeasureSpec),
+                resolveSize(layout.getHeight() + 2 * padding, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (style.backgroundPaint.getColor() != 0) {
+            bounds.set(0, 0, getWidth(), getHeight());
+            if (style.cornerRadius > 0) {
+                canvas.drawRoundRect(bounds, style.cornerRadius, style.cornerRadius, style.backgroundPaint);
+            } else {
+                canvas.drawRect(bounds, style.backgroundPaint);
+            }
+        }
+
+        int saveCount = canvas.save();
+        canvas.translate(style.padding, style.padding);
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    @NonNull
+    private static Layout buildLayout(@NonNull CharSequence text, @NonNull Style style, int availableWidth) {
+        TextPaint paint = style.paint;
+        int width = Style.wrapWidth((int) Math.ceil(Layout.getDesiredWidth(text, paint)),
+                style.maxWidth, style.padding, availableWidth);
+
+        if (Build.VERSION.SDK_INT >= 23) {
+            return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                    .setIncludePad(false)
+                    .build();
+        }
+
+        return new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, false);
+    }
+
+    /**
+     * Text and background of a {@link TextTooltip}. Sizes are in pixels.
+     * <br><br>
+     * Style can be shared by many tooltips. Its paints are used on the background thread to compute the
+     * text layout, so it must not be changed once it's used.
+     */
+    public static class Style {
+
+        private final TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        private final Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private int padding = 0;
+        private float cornerRadius = 0;
+        private int maxWidth = 0;
+
+        /**
+         * @param textColor color of the text
+         * @param textSize size of the text in pixels
+         * @param backgroundColor color of the background. Transparent to draw no background.
+         */
+        public Style(@ColorInt int textColor, float textSize, @ColorInt int backgroundColor) {
+            paint.setColor(textColor);
+            paint.setTextSize(textSize);
+            backgroundPaint.setColor(backgroundColor);
+        }
+
+        /**
+         * Padding between the background and the text
+         * @param padding padding in pixels
+         * @return Style
+         */
+        public Style padding(int padding) {
+            this.padding = padding;
+            return this;
+        }
+
+        /**
+         * Radius of the corners of the background
+         * @param radius radius in pixels
+         * @return Style
+         */
+        public Style cornerRadius(float radius) {
+            this.cornerRadius = radius;
+            return this;
+        }
+
+        /**
+         * Maximum width of the tooltip, including the padding. Text is wrapped to fit.
+         * Default is 0, no maximum other than the width of the root view.
+         * @param maxWidth width in pixels
+         * @return Style
+         */
+        public Style maxWidth(int maxWidth) {
+            this.maxWidth = maxWidth;
+            return this;
+        }
+
+        /**
+         * Width the text is laid out with. Text is wrapped to the max width and to the available width,
+         * both including the padding.
+         *
+         * @param desiredWidth width of the text on one line
+         * @param maxWidth {@link #maxWidth(int)}, 0 for no maximum
+         * @param padding {@link #padding(int)}
+         * @param availableWidth width available to the tooltip, 0 if it's not known
+         * @return width of the text layout, at least 1 as StaticLayout needs a positive width
+         */
+        static int wrapWidth(int desiredWidth, int maxWidth, int padding, int availableWidth) {
+            int limit = maxWidth;
+            if (availableWidth > 0) {
+                limit = limit > 0 ? Math.min(limit, availableWidth) : availableWidth;
+            }
+
+            int width = desiredWidth;
+            if (limit > 0) {
+                width = Math.min(width, limit - 2 * padding);
+            }
+
+            return Math.max(1, width);
+        }
+
+        /**
+         * @param typeface typeface of the text
+         * @return Style
+         */
+        public Style typeface(@Nullable Typeface typeface) {
+            paint.setTypeface(typeface);
+            return this;
+        }
+    }
+
+    /**
+     * Computes the text layout on the background thread and then creates the view on the main thread
+     */
+    private static final class Request implements PendingContent, Runnable {
+
+        private final Context context;
+        private final CharSequence text;
+        private final Style style;
+        private final int availableWidth;
+        private final PendingContent.Callback callback;
+
+        private Layout layout;
+
+        // Main thread only
+        private boolean cancelled = false;
+
+        private Request(@NonNull Context context, @NonNull CharSequence text, @NonNull Style style,
+                        int availableWidth, @NonNull PendingContent.Callback callback) {
+            this.context = context;
+            this.text = text;
+            this.style = style;
+            this.availableWidth = availableWidth;
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            if (!TooltipExecutor.isMainThread()) {
+                try {
+                    layout = buildLayout(text, style, availableWidth);
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Failed to build the text layout in the background. It is built on the main thread.", e);
+                }
+
+                TooltipExecutor.main().post(this);
+                return;
+            }
+
+            if (cancelled) {
+                return;
+            }
+
+            if (layout == null) {
+                layout = buildLayout(text, style, availableWidth);
+            }
+
+            callback.onReady(new TextTooltip(context, style, layout));
+            layout = null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.fenchtose.tooltip;
+
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of the tip paths and paints shared by all the tooltips with the same {@link Tooltip.Tip} spec.
+ * <br><br>
+ * Paths are built once per position in local coordinates, with the top vertex of the tip at (0, 0).
+ * Tooltip translates the canvas to the tip location before drawing it, so the path does not need to
+ * be rebuilt when the tooltip is laid out again.
+ * <br><br>
+ * Cached paths and paints are shared and must not be modified. Cache is only used from the main thread.
+ */
+final class TipCache {
+
+    private static final Map<Tooltip.Tip, Entry> entries = new HashMap<>();
+
+    private TipCache() {
+    }
+
+    private static final class Entry {
+        private final Paint paint;
+        private final Path[] paths = new Path[4];
+
+        private Entry(@NonNull Tooltip.Tip tip) {
+            paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            paint.setStyle(Paint.Style.FILL_AND_STROKE);
+            paint.setColor(tip.getColor());
+
+            if (tip.getTipRadius() > 0) {
+                paint.setStrokeJoin(Paint.Join.ROUND);
+                paint.setStrokeCap(Paint.Cap.ROUND);
+                paint.setStrokeWidth(tip.getTipRadius());
+            }
+        }
+    }
+
+    @NonNull
+    private static Entry entry(@NonNull Tooltip.Tip tip) {
+        Entry entry = entries.get(tip);
+        if (entry == null) {
+            entry = new Entry(tip);
+            entries.put(tip, entry);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Shared paint for the tip
+     */
+    @NonNull
+    static Paint paint(@NonNull Tooltip.Tip tip) {
+        return entry(tip).paint;
+    }
+
+    /**
+     * Shared path of the tip for the position, with the top vertex at (0, 0)
+     */
+    @NonNull
+    static Path path(@NonNull Tooltip.Tip tip, @Tooltip.Position int position) {
+        Entry entry = entry(tip);
+        Path path = entry.paths[position];
+        if (path == null) {
+            path = buildPath(tip.getWidth(), tip.getHeight(), position);
+            entry.paths[position] = path;
+        }
+
+        return path;
+    }
+
+    /**
+     * New path of the tip for the position. Package private for the benchmarks.
+     */
+    @NonNull
+    static Path buildPath(int width, int height, @Tooltip.Position int position) {
+        Path path = new Path();
+        path.moveTo(0, 0);
+
+        switch (position) {
+            case Tooltip.LEFT:
+                path.lineTo(-height, width/2);
+                path.lineTo(-height, -width/2);
+                break;
+            case Tooltip.RIGHT:
+                path.lineTo(height, width/2);
+                path.lineTo(height, -width/2);
+                break;
+            case Tooltip.TOP:
+                path.lineTo(-width/2, -height);
+                path.lineTo(width/2, -height);
+                break;
+            case Tooltip.BOTTOM:
+                path.lineTo(-width/2, height);
+                path.lineTo(width/2, height);
+                break;
+        }
+
+        path.lineTo(0, 0);
+        return path;
+    }
+}
@@ -1,7 +1,7 @@
 package com.fenchtose.tooltip;
 
 import android.animation.Animator;
-import android.animation.AnimatorSet;
+import android.animation.ValueAnimator;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.graphics.Canvas;
@@ -9,20 +9,23 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.Point;
 import android.os.Build;
-import android.os.Handler;
 import android.util.Log;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewOutlineProvider;
 import android.view.ViewTreeObserver;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.IntDef;
+import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Dynamically add tooltips in any ViewGroups.
@@ -36,40 +39,152 @@ public class Tooltip extends ViewGroup {
     private static final String TAG = "Tooltip";
 
     public static final int NO_AUTO_CANCEL = 0;
-    private static final int MIN_INT_VALUE = -2147483648;
+
+    private static final int NO_LAYOUT = 0;
+
+    private static final int INITIAL_EVENT_LISTENERS = 2;
+
+    public static final int COALESCE_NONE = 0;
+    public static final int COALESCE_REUSE = 1;
+    public static final int COALESCE_REPLACE_CONTENT = 2;
+
+    /**
+     * What to do if a tooltip is shown for an anchor which already has a visible tooltip with the same tag:
+     * <br>
+     * <ul>
+     *     <li>{@link #COALESCE_NONE} : Show another tooltip</li>
+     *     <li>{@link #COALESCE_REUSE} : Return the visible tooltip as it is</li>
+     *     <li>{@link #COALESCE_REPLACE_CONTENT} : Return the visible tooltip after replacing its content</li>
+     * </ul>
+     */
+    @IntDef({COALESCE_NONE, COALESCE_REUSE, COALESCE_REPLACE_CONTENT})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Coalesce {}
+
+    /**
+     * Reasons of {@link EventListener#onDismissRequested(Tooltip, int, long)}
+     * <ul>
+     *     <li>{@link #DISMISS_TOUCH_OUTSIDE} - cancelable tooltip was touched outside its content</li>
+     *     <li>{@link #DISMISS_TOUCH_CONTENT} - cancelable tooltip intercepted a touch on its content</li>
+     *     <li>{@link #DISMISS_AUTO_CANCEL} - auto cancel time has passed</li>
+     *     <li>{@link #DISMISS_PROGRAMMATIC} - {@link #dismiss()} or {@link #dismiss(boolean)} was called</li>
+     *     <li>{@link #DISMISS_DETACH} - tooltip was detached from the window without being dismissed.
+     *     It's dismissed without animation once the parent has detached all its children.</li>
+     * </ul>
+     */
+    public static final int DISMISS_TOUCH_OUTSIDE = 0;
+    public static final int DISMISS_TOUCH_CONTENT = 1;
+    public static final int DISMISS_AUTO_CANCEL = 2;
+    public static final int DISMISS_PROGRAMMATIC = 3;
+    public static final int DISMISS_DETACH = 4;
+    @IntDef({DISMISS_TOUCH_OUTSIDE, DISMISS_TOUCH_CONTENT, DISMISS_AUTO_CANCEL, DISMISS_PROGRAMMATIC, DISMISS_DETACH})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface DismissReason {}
 
     private boolean debug = false;
 
+    private static TooltipTracer tracer = TooltipTracer.NO_OP;
+
     private View contentView;
     private View anchorView;
 
+    private ViewGroup rootView;
+    private TooltipHost host;
+
     private int[] anchorLocation = new int[2];
     private int[] holderLocation = new int[2];
 
     @Position
     private int position;
 
+    /**
+     * Position used for the last layout. Same as {@link #position} unless it's {@link #AUTO}.
+     * Tip path and animation pivots follow this position.
+     */
+    @Position
+    private int resolvedPosition;
+
     private boolean isCancelable = true;
     private boolean autoAdjust = true;
 
     private int padding;
 
-    private Listener builderListener;
     private Listener listener;
 
+    /**
+     * Dismiss listener of the {@link TooltipManager} which showed this tooltip
+     */
+    private Listener managerListener;
+
+    /**
+     * If the tooltip has a pending auto cancel in {@link TooltipScheduler}
+     */
+    private boolean autoCancelScheduled = false;
+
     private Tip tip;
+    // Shared with other tooltips, see TipCache
     private Paint tipPaint;
     private Path tipPath;
     private boolean showTip = false;
 
+    /**
+     * Lite mode. Tooltip draws the bubble and the tip as one path, with one paint, behind the content.
+     * Path is in the coordinates of the content and it's built when the layout changes.
+     */
+    private boolean lite = false;
+    private float liteCornerRadius;
+    private Paint litePaint;
+    private Path litePath;
+    private boolean hasLitePath = false;
+
+    /**
+     * Elevation and the outline for its shadow. Outline is null if the tooltip never had an elevation.
+     */
+    private float elevation = 0;
+    private TooltipOutline outline;
+
+    /**
+     * Vertices of the bubble and the tip for the lite path and the outline, see {@link BubblePath}
+     */
+    private float[] bubbleVertices;
+
     private Point anchorPoint = new Point();
     private int[] tooltipSize = new int[2];
+    private final TooltipPlacementEngine.Result placement = new TooltipPlacementEngine.Result();
+
+    /**
+     * Inputs of the last {@link #doLayout(boolean, int, int, int, int)} pass. If none of them has changed,
+     * the layout pass is skipped.
+     * anchor x, anchor y (relative to the holder), anchor width, anchor height,
+     * holder l, t, r, b, content width, content height
+     */
+    private final int[] lastLayoutInputs = new int[10];
+    private boolean hasLaidOut = false;
+    private int layoutCount = 0;
+    private int skippedLayoutCount = 0;
+
+    /**
+     * Measure specs and content version of the last measure of the content. Content is not measured again
+     * until the specs or the version change, or the content requests a layout.
+     */
+    private static final int NO_VERSION = -1;
+    private int measuredWidthSpec;
+    private int measuredHeightSpec;
+    private int measuredContentVersion = NO_VERSION;
+    private int contentVersion = 0;
+    private int measureCount = 0;
+    private int skippedMeasureCount = 0;
+
+    public static final int LEFT = TooltipPlacementEngine.LEFT;
+    public static final int TOP = TooltipPlacementEngine.TOP;
+    public static final int RIGHT = TooltipPlacementEngine.RIGHT;
+    public static final int BOTTOM = TooltipPlacementEngine.BOTTOM;
 
-    public static final int LEFT = 0;
-    public static final int TOP = 1;
-    public static final int RIGHT = 2;
-    public static final int BOTTOM = 3;
-    @IntDef({LEFT, TOP, RIGHT, BOTTOM})
+    /**
+     * Use the position where the tooltip fits best. The position is chosen on every layout.
+     */
+    public static final int AUTO = TooltipPlacementEngine.AUTO;
+    @IntDef({LEFT, TOP, RIGHT, BOTTOM, AUTO})
     @Retention(RetentionPolicy.SOURCE)
     public @interface Position {}
 
@@ -77,6 +192,64 @@ public class Tooltip extends ViewGroup {
     private boolean animate = false;
     private boolean hasAnimatedIn = false;
 
+    /**
+     * In animator is kept for the whole life of the tooltip. Out animation reverses it when possible.
+     */
+    private Animator inAnimator;
+
+    /**
+     * Out animator, when the in animation can't be reversed
+     */
+    private Animator outAnimator;
+    private final Animator.AnimatorListener transitionListener = new Animator.AnimatorListener() {
+        @Override
+        public void onAnimationStart(Animator animation) {
+
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            endTransition();
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+            endTransition();
+        }
+
+        @Override
+        public void onAnimationRepeat(Animator animation) {
+
+        }
+    };
+
+    /**
+     * Dismiss, without animation, a tooltip which was detached from the window and is not attached again
+     */
+    private final Runnable detachDismiss = new Runnable() {
+        @Override
+        public void run() {
+            if (!isAttached && !isDismissed) {
+                requestDismiss(DISMISS_DETACH);
+                dismiss();
+            }
+        }
+    };
+
+    private boolean inTransition = false;
+    private boolean contentHidden = false;
+
+    /**
+     * Fraction of the reveal radius when {@link TooltipAnimationEngine} runs {@link TooltipAnimation#REVEAL}
+     */
+    private static final float NO_REVEAL = -1;
+    private float revealFraction = NO_REVEAL;
+    private Path revealPath;
+
+    private static final int LAYER_UNCHANGED = -1;
+    private int tooltipLayerType = LAYER_UNCHANGED;
+    private int contentLayerType = LAYER_UNCHANGED;
+
     // To avoid multiple click dismiss error (in animation)
     private boolean isDismissed = false;
     private boolean isDismissAnimationInProgress = false;
@@ -99,22 +272,99 @@ public class Tooltip extends ViewGroup {
      */
     private boolean isAttached = false;
 
-    private Tooltip(@NonNull Builder builder) {
-        super(builder.context);
-        init(builder);
-    }
+    /**
+     * Follow the anchor when it moves without the tooltip being laid out again, eg. in a scrolling container.
+     * The content and the tip are translated by the distance the anchor has moved since the last layout.
+     */
+    private boolean trackAnchor = false;
+    private ViewTreeObserver.OnPreDrawListener anchorTracker;
+    private ViewTreeObserver trackedObserver;
+    private int trackingOffsetX = 0;
+    private int trackingOffsetY = 0;
+
+    /**
+     * Tag of the show request. Tooltips of the same anchor are coalesced only if their tags are equal.
+     */
+    private Object requestTag;
+
+    /**
+     * Pool this instance is returned to once dismissed. null if the tooltip is not recyclable.
+     */
+    private TooltipPool pool;
 
-    private void init(@NonNull Builder builder) {
+    /**
+     * Content which is prepared in the background, eg. inflated from a layout resource. Tooltip is added
+     * to the root view when the content is ready. null once it is.
+     */
+    private PendingContent pendingContent;
+
+    /**
+     * Copy of the builder taken when {@link Builder#show()} was called. The tooltip is initialized from it
+     * when the pending content is ready.
+     */
+    private Builder pendingBuilder;
+
+    /**
+     * If the root view of the pending tooltip was attached to the window when it was requested
+     */
+    private boolean pendingRootAttached;
 
-        this.contentView = builder.contentView;
+    /**
+     * Lifecycle event listeners, copied from the builder into this array. Array is reused when the
+     * tooltip is recycled.
+     */
+    private EventListener[] eventListeners = new EventListener[INITIAL_EVENT_LISTENERS];
+    private int eventListenerCount = 0;
+    private boolean dismissRequested = false;
+    private boolean firstDrawReported = false;
+
+    Tooltip(@NonNull Context context) {
+        super(context);
+    }
+
+    /**
+     * (Re)initialize the tooltip from the builder. Recycled instances go through the same path as
+     * new ones, so every field which can be mutated while the tooltip is shown has to be reset here.
+     */
+    void init(@NonNull Builder builder, @NonNull View content) {
+
+        // Reset state left over from a previous use of this instance
+        hasAnimatedIn = false;
+        cancelAnimators();
+        inTransition = false;
+        contentHidden = false;
+        revealFraction = NO_REVEAL;
+        hasDrawn = false;
+        isDismissed = false;
+        isDismissAnimationInProgress = false;
+        autoCancelScheduled = false;
+        hasLaidOut = false;
+        layoutCount = 0;
+        skippedLayoutCount = 0;
+        measuredContentVersion = NO_VERSION;
+        contentVersion++;
+        measureCount = 0;
+        skippedMeasureCount = 0;
+        anchorPoint.set(0, 0);
+        tooltipSize[0] = 0;
+        tooltipSize[1] = 0;
+        setAlpha(1);
+        this.pool = builder.recycle ? TooltipPool.get(builder.context) : null;
+
+        this.contentView = content;
         this.anchorView = builder.anchorView;
-        this.builderListener = builder.myListener;
+        this.rootView = builder.rootView;
+        this.host = builder.host;
 
         this.autoAdjust = builder.autoAdjust;
         this.position = builder.position;
+        this.resolvedPosition = position == AUTO ? TOP : position;
         this.padding = builder.padding;
         this.checkForPreDraw = builder.checkForPreDraw;
+        this.trackAnchor = builder.trackAnchor;
         this.debug = builder.debug;
+        trackingOffsetX = 0;
+        trackingOffsetY = 0;
 
         // Cancelable
         this.isCancelable = builder.cancelable;
@@ -123,32 +373,64 @@ public class Tooltip extends ViewGroup {
         this.animation = builder.animation;
         animate = (animation != null && animation.getType() != TooltipAnimation.NONE);
 
-        tipPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        tipPaint.setStyle(Paint.Style.FILL_AND_STROKE);
-
         // Tip
         this.tip = builder.tip;
         this.showTip = (tip != null);
         if (tip != null) {
+            tipPaint = TipCache.paint(tip);
+            tipPath = TipCache.path(tip, resolvedPosition);
+        } else {
+            tipPaint = null;
+            tipPath = null;
+        }
+
+        // Lite
+        this.lite = builder.lite;
+        hasLitePath = false;
+        if (lite) {
+            if (litePaint == null) {
+                litePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+                litePaint.setStyle(Paint.Style.FILL);
+                litePath = new Path();
+            }
 
-            tipPaint.setColor(tip.getColor());
+            litePaint.setColor(builder.liteColor);
+            liteCornerRadius = builder.liteCornerRadius;
+        }
+
+        // Elevation
+        if (Build.VERSION.SDK_INT >= 21) {
+            if (builder.elevation > 0 || elevation > 0) {
+                this.elevation = builder.elevation;
+                setElevation(elevation);
+
+                if (elevation > 0) {
+                    if (outline == null) {
+                        outline = new TooltipOutline();
+                    }
 
-            if (tip.getTipRadius() > 0) {
-                tipPaint.setStrokeJoin(Paint.Join.ROUND);
-                tipPaint.setStrokeCap(Paint.Cap.ROUND);
-                tipPaint.setStrokeWidth(tip.getTipRadius());
+                    outline.clear();
+                    setOutlineProvider(outline);
+                } else {
+                    setOutlineProvider(ViewOutlineProvider.BACKGROUND);
+                }
             }
+        } else if (builder.elevation > 0) {
+            Log.e(TAG, "Elevation is supported on sdk 21 and above");
         }
 
-        tipPaint.setColor(tip == null ? 0xffffffff : tip.getColor());
+        if ((lite || elevation > 0) && bubbleVertices == null) {
+            bubbleVertices = new float[BubblePath.MAX_VERTICES * 3];
+        }
 
         if (debug) {
             Log.d(TAG, "show tip: " + showTip);
         }
 
         this.listener = builder.listener;
-
-        tipPath = new Path();
+        setEventListeners(builder);
+        this.managerListener = builder.managerListener;
+        this.requestTag = builder.tag;
 
         LayoutParams params = contentView.getLayoutParams();
         if (params == null) {
@@ -161,29 +443,40 @@ public class Tooltip extends ViewGroup {
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        tracer.beginSection(TooltipTracer.SECTION_MEASURE);
+        try {
+            measureContent(widthMeasureSpec, heightMeasureSpec);
+        } finally {
+            tracer.endSection();
+        }
+    }
+
+    private void measureContent(int widthMeasureSpec, int heightMeasureSpec) {
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
 
         View child = getChildAt(0);
-        measureChild(child, widthMeasureSpec, heightMeasureSpec);
 
-        if (debug) {
-            Log.i(TAG, "child measured width: " + child.getMeasuredWidth());
+        measureCount++;
+        if (measuredContentVersion == contentVersion && measuredWidthSpec == widthMeasureSpec
+                && measuredHeightSpec == heightMeasureSpec && !child.isLayoutRequested()) {
+            // Same content and constraints. Keep the measured size of the content.
+            skippedMeasureCount++;
+            return;
         }
+
+        measureChild(child, widthMeasureSpec, heightMeasureSpec);
+        measuredWidthSpec = widthMeasureSpec;
+        measuredHeightSpec = heightMeasureSpec;
+        measuredContentVersion = contentVersion;
     }
 
     @Override
     protected void onLayout(final boolean changed, final int l, final int t, final int r, final int b) {
-        if (debug) {
-            Log.i(TAG, "l: " + l + ", t: " + t + ", r: " + r + ", b: " + b);
-        }
-
         if (checkForPreDraw && !hasDrawn) {
             anchorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
                 @Override
                 public boolean onPreDraw() {
                     anchorView.getViewTreeObserver().removeOnPreDrawListener(this);
-                    anchorView.getLocationInWindow(anchorLocation);
-                    Log.i(TAG, "onPreDraw: " + anchorLocation[0] + ", " + anchorLocation[1]);
                     hasDrawn = true;
                     doLayout(changed, l, t, r, b);
                     return true;
@@ -201,29 +494,155 @@ public class Tooltip extends ViewGroup {
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
         isAttached = true;
+
+        if (eventListenerCount > 0) {
+            long time = System.nanoTime();
+            for (int i=0; i<eventListenerCount; i++) {
+                eventListeners[i].onAttached(this, time);
+            }
+        }
+
+        if (trackAnchor) {
+            startTrackingAnchor();
+        }
     }
 
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         isAttached = false;
+        stopTrackingAnchor();
+
+        if (!isDismissed) {
+            // Removed with the root view, eg. the activity is destroyed. Parent is still dispatching
+            // the detach to its children, so the tooltip is removed after that.
+            TooltipExecutor.main().post(detachDismiss);
+        }
+
+        if (eventListenerCount > 0) {
+            long time = System.nanoTime();
+            for (int i=0; i<eventListenerCount; i++) {
+                eventListeners[i].onDetached(this, time);
+            }
+        }
+    }
+
+    private void startTrackingAnchor() {
+        if (anchorTracker == null) {
+            anchorTracker = new ViewTreeObserver.OnPreDrawListener() {
+                @Override
+                public boolean onPreDraw() {
+                    followAnchor();
+                    return true;
+                }
+            };
+        }
+
+        trackedObserver = anchorView.getViewTreeObserver();
+        trackedObserver.addOnPreDrawListener(anchorTracker);
+    }
+
+    private void stopTrackingAnchor() {
+        if (trackedObserver == null) {
+            return;
+        }
+
+        if (trackedObserver.isAlive()) {
+            trackedObserver.removeOnPreDrawListener(anchorTracker);
+        }
+
+        trackedObserver = null;
+    }
+
+    /**
+     * Move the content and the tip by the distance the anchor has moved since the last layout pass.
+     * Only translation is updated. There is no layout pass and the tip path is not rebuilt.
+     */
+    private void followAnchor() {
+        if (!hasLaidOut || anchorView == null) {
+            return;
+        }
+
+        locate(anchorView, anchorLocation);
+        locate(this, holderLocation);
+
+        int offsetX = anchorLocation[0] - holderLocation[0] - lastLayoutInputs[0];
+        int offsetY = anchorLocation[1] - holderLocation[1] - lastLayoutInputs[1];
+
+        if (offsetX == trackingOffsetX && offsetY == trackingOffsetY) {
+            return;
+        }
+
+        setTrackingOffset(offsetX, offsetY);
+    }
+
+    private void setTrackingOffset(int offsetX, int offsetY) {
+        trackingOffsetX = offsetX;
+        trackingOffsetY = offsetY;
+
+        View child = getChildAt(0);
+        if (child != null) {
+            child.setTranslationX(offsetX);
+            child.setTranslationY(offsetY);
+        }
+
+        if (showTip || lite) {
+            // Tip is drawn by the tooltip itself
+            invalidate();
+        }
+
+        if (elevation > 0 && Build.VERSION.SDK_INT >= 21) {
+            // Same outline, moved with the content
+            outline.setOffset(offsetX, offsetY);
+            invalidateOutline();
+        }
     }
 
     @Override
     public boolean onInterceptTouchEvent(MotionEvent ev) {
         if (isCancelable) {
-            dismiss(animate);
+            dismiss(animate, isOnContent(ev) ? DISMISS_TOUCH_CONTENT : DISMISS_TOUCH_OUTSIDE);
         }
 
         return false;
     }
 
+    private boolean isOnContent(@NonNull MotionEvent ev) {
+        View child = getChildAt(0);
+        if (child == null) {
+            return false;
+        }
+
+        float x = ev.getX() - trackingOffsetX;
+        float y = ev.getY() - trackingOffsetY;
+        return x >= child.getLeft() && x < child.getRight() && y >= child.getTop() && y < child.getBottom();
+    }
+
     private void doLayout(boolean changed, int l, int t, int r, int b) {
+        tracer.beginSection(TooltipTracer.SECTION_LAYOUT);
+        try {
+            layoutContent(l, t, r, b);
+        } finally {
+            tracer.endSection();
+        }
+
+        if (animate && !hasAnimatedIn) {
+            hasAnimatedIn = true;
+            tracer.beginSection(TooltipTracer.SECTION_ANIMATE_IN);
+            try {
+                animateIn(animation);
+            } finally {
+                tracer.endSection();
+            }
+        }
+    }
+
+    private void layoutContent(int l, int t, int r, int b) {
 
         View child = getChildAt(0);
 
-        anchorView.getLocationInWindow(anchorLocation);
-        this.getLocationInWindow(holderLocation);
+        locate(anchorView, anchorLocation);
+        locate(this, holderLocation);
 
         int dx = anchorLocation[0] - holderLocation[0];
         int dy = anchorLocation[1] - holderLocation[1];
@@ -231,207 +650,208 @@ public class Tooltip extends ViewGroup {
         int w = child.getMeasuredWidth();
         int h = child.getMeasuredHeight();
 
-        int left = dx;
-        int top = dy;
-
-        if (debug) {
-            Log.d(TAG, "anchor location: " + anchorLocation[0] + ", " + anchorLocation[1]);
-            Log.d(TAG, "holder location: " + holderLocation[0] + ", " + holderLocation[1]);
-            Log.d(TAG, "child w: " + w + " h: " + h);
-            Log.d(TAG, "left: " + left + ", top: " + top);
-        }
-
-        tipPath.reset();
-
-        int px = MIN_INT_VALUE;
-        int py = MIN_INT_VALUE;
-
-        switch (position) {
-            case LEFT: {
-                // to left of anchor view
-                // align with horizontal axis
-
-                int diff = (anchorView.getHeight() - h) / 2;
-                // We should pad right side
-                left -= (w + padding + (showTip ? tip.getHeight() : 0));
-                // Top and bottom padding is not required
-                top += diff;
-
-                if (showTip) {
-                    px = left + w + tip.getHeight();
-                    py = top + h/2;
-                    tipPath.moveTo(px, py);
-                    tipPath.lineTo(px - tip.getHeight(), py + tip.getWidth()/2);
-                    tipPath.lineTo(px - tip.getHeight(), py - tip.getWidth()/2);
-                    tipPath.lineTo(px, py);
-                }
+        layoutCount++;
+        if (!updateLayoutInputs(dx, dy, anchorView.getWidth(), anchorView.getHeight(), l, t, r, b, w, h)
+                && !child.isLayoutRequested()) {
+            // Nothing has moved. Content is already at the right place.
+            skippedLayoutCount++;
+            return;
+        }
 
-                break;
-            }
+        TooltipPlacementEngine.place(dx, dy, anchorView.getWidth(), anchorView.getHeight(),
+                l, t, r, b, w, h, padding,
+                showTip ? tip.getWidth() : 0, showTip ? tip.getHeight() : 0, showTip,
+                position, autoAdjust, placement);
 
-            case RIGHT: {
-                // to right of anchor view
-                // align with horizontal axis
-                int diff = (anchorView.getHeight() - h) / 2;
-                // We should pad left side
-                left += (anchorView.getWidth() + padding + (showTip ? tip.getHeight() : 0));
-                // Top and bottom padding is not required
-                top += diff;
-
-                if (showTip) {
-                    px = left - tip.getHeight();
-                    py = top + h/2;
-                    tipPath.moveTo(px, py);
-                    tipPath.lineTo(px + tip.getHeight(), py + tip.getWidth()/2);
-                    tipPath.lineTo(px + tip.getHeight(), py - tip.getWidth()/2);
-                    tipPath.lineTo(px, py);
-                }
+        int left = placement.left;
+        int top = placement.top;
 
-                break;
+        if (placement.position != resolvedPosition) {
+            resolvedPosition = placement.position;
+            if (showTip) {
+                tipPath = TipCache.path(tip, resolvedPosition);
             }
+        }
 
-            case TOP: {
-                // to top of anchor view
-                // align with vertical axis
-                int diff = (anchorView.getWidth() - w) / 2;
+        // Set anchor point
+        anchorPoint.set(placement.pointX, placement.pointY);
 
-                // Left and Right padding are not required.
-                left += diff;
+        // Get Tooltip content size
+        tooltipSize[0] = w;
+        tooltipSize[1] = h;
 
-                // We should only pad bottom
-                top -= (h + padding + (showTip ? tip.getHeight() : 0));
+        child.layout(left, top, left + w, top + h);
 
-                if (showTip) {
-                    px = left + w / 2;
-                    py = top + h + tip.getHeight();
-                    tipPath.moveTo(px, py);
-                    tipPath.lineTo(px - tip.getWidth() / 2, py - tip.getHeight());
-                    tipPath.lineTo(px + tip.getWidth() / 2, py - tip.getHeight());
-                    tipPath.lineTo(px, py);
-                }
+        if (lite || elevation > 0) {
+            int count = BubblePath.vertices(bubbleVertices, w, h, lite ? liteCornerRadius : 0,
+                    placement, resolvedPosition, left, top, showTip ? tip.getTipRadius() : 0);
 
-                break;
+            if (lite) {
+                BubblePath.build(litePath, bubbleVertices, count, 0, 0);
+                hasLitePath = true;
             }
 
-            case BOTTOM: {
-                // to top of anchor view
-                // align with vertical axis
-                int diff = (anchorView.getWidth() - w) / 2;
+            if (elevation > 0 && Build.VERSION.SDK_INT >= 21) {
+                // Shadow of the bubble and the tip. Only rebuilt when the content is laid out again.
+                outline.update(bubbleVertices, count, left, top);
+                invalidateOutline();
+            }
+        }
 
-                // Left and Right padding are not required.
-                left += diff;
+        // Content is laid out at the current location of the anchor
+        if (trackingOffsetX != 0 || trackingOffsetY != 0) {
+            setTrackingOffset(0, 0);
+        }
+    }
 
-                // We should only pad top
-                top += anchorView.getHeight() + padding + (showTip ? tip.getHeight() : 0);
+    /**
+     * Location of the view in the coordinate space shared by the anchor and the tooltip.
+     * If the tooltip is hosted in a separate window, screen coordinates are used.
+     */
+    private void locate(@NonNull View view, @NonNull int[] location) {
+        if (host.isSeparateWindow()) {
+            view.getLocationOnScreen(location);
+        } else {
+            view.getLocationInWindow(location);
+        }
+    }
 
-                if (debug) {
-                    Log.d(TAG, "tip top: " + top);
-                }
+    /**
+     * Store the layout inputs.
+     * @return true if any of the inputs differs from the last layout pass
+     */
+    private boolean updateLayoutInputs(int anchorX, int anchorY, int anchorWidth, int anchorHeight,
+                                       int l, int t, int r, int b, int width, int height) {
+        int[] inputs = lastLayoutInputs;
+        boolean dirty = !hasLaidOut
+                || inputs[0] != anchorX || inputs[1] != anchorY
+                || inputs[2] != anchorWidth || inputs[3] != anchorHeight
+                || inputs[4] != l || inputs[5] != t || inputs[6] != r || inputs[7] != b
+                || inputs[8] != width || inputs[9] != height;
+
+        if (dirty) {
+            inputs[0] = anchorX;
+            inputs[1] = anchorY;
+            inputs[2] = anchorWidth;
+            inputs[3] = anchorHeight;
+            inputs[4] = l;
+            inputs[5] = t;
+            inputs[6] = r;
+            inputs[7] = b;
+            inputs[8] = width;
+            inputs[9] = height;
+            hasLaidOut = true;
+        }
 
-                if (showTip) {
-                    px = left + w / 2;
-                    py = top - tip.getHeight();
-                    tipPath.moveTo(px, py);
-                    tipPath.lineTo(px - tip.getWidth() / 2, py + tip.getHeight());
-                    tipPath.lineTo(px + tip.getWidth() / 2, py + tip.getHeight());
-                    tipPath.lineTo(px, py);
+        return dirty;
+    }
 
-                }
+    /**
+     * Number of layout passes of the tooltip content since it was shown, including the skipped ones.
+     * @return int
+     */
+    public int getLayoutCount() {
+        return layoutCount;
+    }
 
-                break;
-            }
+    /**
+     * Number of layout passes which were skipped because the anchor, the holder and the content
+     * had not changed since the previous pass.
+     * @return int
+     */
+    public int getSkippedLayoutCount() {
+        return skippedLayoutCount;
+    }
 
-        }
+    /**
+     * Number of measure passes of the tooltip since it was shown, including the skipped ones.
+     * @return int
+     */
+    public int getMeasureCount() {
+        return measureCount;
+    }
 
-        if (autoAdjust) {
-            switch (position) {
-                case TOP:
-                case BOTTOM:
-                    if (left + w > r) {
-                        // View is going out on the right side
-                        // Add padding to the right
-                        left = r - w - padding;
-                    } else if (left < l) {
-                        // View is going out on the left side
-                        // Add padding to the left
-                        left = l + padding;
-                    }
-                    break;
+    /**
+     * Number of measure passes in which the content was not measured again because the measure specs
+     * and the content had not changed.
+     * @return int
+     */
+    public int getSkippedMeasureCount() {
+        return skippedMeasureCount;
+    }
 
-                case LEFT:
-                case RIGHT:
-                    if (top + h > b) {
-                        // View is going out on the bottom side
-                        // Add padding to bottom
-                        top = b - h - padding;
-                    } else if (top < t) {
-                        // View is going out on the top side
-                        // Add padding to top
-                        top = t + padding;
-                    }
-                    break;
-            }
+    /**
+     * Tell the tooltip that its content has changed and must be measured and laid out again.
+     * Content which requests a layout itself, eg. a TextView whose text is changed, is measured again
+     * without calling this.
+     */
+    public void invalidateContent() {
+        contentVersion++;
+        if (contentView != null) {
+            contentView.requestLayout();
         }
+    }
 
-        if (debug) {
-            Log.i(TAG, "child layout: left: " + left + " top: " + top + " right: "
-                    + (left + child.getMeasuredWidth())
-                    + " bottom: " + (top + child.getMeasuredHeight()));
-            Log.i(TAG, "px: " + px + ", py: " + py);
-
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        tracer.beginSection(TooltipTracer.SECTION_DRAW);
+        try {
+            drawTooltip(canvas);
+        } finally {
+            tracer.endSection();
         }
+    }
 
-        // Tip was not drawn. We need to set anchor point for animation
-        if (px == MIN_INT_VALUE || py == MIN_INT_VALUE) {
-
-            if (debug) {
-                Log.d(TAG, "Tip was not drawn");
-            }
+    private void drawTooltip(@NonNull Canvas canvas) {
+        drawContent(canvas);
 
-            switch (position) {
-                case TOP:
-                    px = left + child.getMeasuredWidth()/2;
-                    py = top + child.getMeasuredHeight();
-                    break;
-                case BOTTOM:
-                    px = left + child.getMeasuredWidth()/2;
-                    py = top;
-                    break;
-                case LEFT:
-                    px = left + child.getMeasuredWidth();
-                    py = top + child.getMeasuredHeight();
-                    break;
-                case RIGHT:
-                    px = left;
-                    py = top + child.getMeasuredHeight()/2;
-                    break;
+        if (!firstDrawReported && hasLaidOut) {
+            firstDrawReported = true;
+            if (eventListenerCount > 0) {
+                long time = System.nanoTime();
+                for (int i=0; i<eventListenerCount; i++) {
+                    eventListeners[i].onFirstDraw(this, time);
+                }
             }
         }
+    }
 
-        // Set anchor point
-        anchorPoint.set(px, py);
-
-        // Get Tooltip content size
-        tooltipSize[0] = child.getMeasuredWidth();
-        tooltipSize[1] = child.getMeasuredHeight();
+    private void drawContent(@NonNull Canvas canvas) {
+        int revealSaveCount = -1;
+        if (revealFraction >= 0) {
+            if (revealPath == null) {
+                revealPath = new Path();
+            }
 
-        child.layout(left, top, left + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+            revealPath.rewind();
+            revealPath.addCircle(anchorPoint.x, anchorPoint.y,
+                    revealFraction * Math.max(tooltipSize[0], tooltipSize[1]), Path.Direction.CW);
+            revealSaveCount = canvas.save();
+            canvas.clipPath(revealPath);
+        }
 
-        if (animate && !hasAnimatedIn) {
-            hasAnimatedIn = false;
-            animateIn(animation);
+        if (lite && hasLitePath) {
+            // Bubble follows the transformation of the content, eg. tracking offset and scale animations
+            View child = getChildAt(0);
+            int saveCount = canvas.save();
+            canvas.translate(child.getLeft(), child.getTop());
+            canvas.concat(child.getMatrix());
+            canvas.drawPath(litePath, litePaint);
+            canvas.restoreToCount(saveCount);
         }
-    }
 
-    @Override
-    protected void dispatchDraw(Canvas canvas) {
         super.dispatchDraw(canvas);
-        if (debug) {
-            Log.i(TAG, "canvas w: " + canvas.getWidth() + ", h: " + canvas.getHeight());
-        }
 
-        if (showTip && hasDrawn) {
+        if (showTip && !lite && hasDrawn) {
+            // Tip path is in local coordinates with its top vertex at (0, 0)
+            int saveCount = canvas.save();
+            canvas.translate(placement.tipX0 + trackingOffsetX, placement.tipY0 + trackingOffsetY);
             canvas.drawPath(tipPath, tipPaint);
+            canvas.restoreToCount(saveCount);
+        }
+
+        if (revealSaveCount >= 0) {
+            canvas.restoreToCount(revealSaveCount);
         }
     }
 
@@ -439,6 +859,16 @@ public class Tooltip extends ViewGroup {
         return isCancelable;
     }
 
+    /**
+     * Set the tracer for the measure, layout, draw, animate in and dismiss sections of all the tooltips,
+     * eg. {@link SystemTooltipTracer} to see them in system traces.
+     *
+     * @param tracer {@link TooltipTracer}, null to stop tracing
+     */
+    public static void setTracer(@Nullable TooltipTracer tracer) {
+        Tooltip.tracer = tracer != null ? tracer : TooltipTracer.NO_OP;
+    }
+
 
     /**
      * Dismiss and remove Tooltip from the view.
@@ -451,17 +881,288 @@ public class Tooltip extends ViewGroup {
             return;
         }
 
+        requestDismiss(DISMISS_PROGRAMMATIC);
         isDismissed = true;
 
+        tracer.beginSection(TooltipTracer.SECTION_DISMISS);
+        try {
+            performDismiss();
+        } finally {
+            tracer.endSection();
+        }
+    }
+
+    private void performDismiss() {
+        TooltipExecutor.main().removeCallbacks(detachDismiss);
+
+        if (pendingContent != null) {
+            // Content is not ready yet. Tooltip is never shown.
+            cancelPending();
+            notifyDismissed();
+            return;
+        }
+
+        if (animation != null && animation.runsOnEngine()) {
+            TooltipAnimationEngine.getInstance().cancel(this);
+        }
+
+        cancelAnimators();
+        if (inTransition) {
+            inTransition = false;
+            restoreLayers();
+        }
+
+        if (TooltipMetrics.isEnabled()) {
+            TooltipMetrics.getInstance().end(this);
+        }
+
         this.removeView(contentView);
-        ViewGroup parent = (ViewGroup) getParent();
-        parent.removeView(this);
+        host.detach(rootView, this);
+        unregisterFromAnchor();
+
+        if (autoCancelScheduled) {
+            autoCancelScheduled = false;
+            TooltipScheduler.getInstance().cancel(this);
+        }
+
+        notifyDismissed();
+    }
+
+    private void notifyShowRequested(long time) {
+        for (int i=0; i<eventListenerCount; i++) {
+            eventListeners[i].onShowRequested(this, time);
+        }
+    }
+
+    /**
+     * Report the first dismiss request to the {@link EventListener}s
+     */
+    private void requestDismiss(@DismissReason int reason) {
+        if (dismissRequested) {
+            return;
+        }
+
+        dismissRequested = true;
+        if (eventListenerCount > 0) {
+            long time = System.nanoTime();
+            for (int i=0; i<eventListenerCount; i++) {
+                eventListeners[i].onDismissRequested(this, reason, time);
+            }
+        }
+    }
 
-        builderListener.onDismissed();
+    private void setEventListeners(@NonNull Builder builder) {
+        clearEventListeners();
+        if (eventListeners.length < builder.eventListenerCount) {
+            eventListeners = new EventListener[builder.eventListenerCount];
+        }
+
+        System.arraycopy(builder.eventListeners, 0, eventListeners, 0, builder.eventListenerCount);
+        eventListenerCount = builder.eventListenerCount;
+        dismissRequested = false;
+        firstDrawReported = false;
+    }
+
+    private void clearEventListeners() {
+        for (int i=0; i<eventListenerCount; i++) {
+            eventListeners[i] = null;
+        }
+
+        eventListenerCount = 0;
+    }
+
+    private void notifyDismissed() {
+        if (managerListener != null) {
+            managerListener.onDismissed();
+        }
 
         if (listener != null) {
             listener.onDismissed();
         }
+
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Wait for the content to be ready. Tooltip can be dismissed in the meantime,
+     * so the listeners are set now.
+     */
+    private void initPending(@NonNull Builder builder, @NonNull PendingContent content) {
+        isDismissed = false;
+        isDismissAnimationInProgress = false;
+        pendingContent = content;
+        pendingBuilder = builder;
+        pendingRootAttached = builder.rootView.getWindowToken() != null;
+        setEventListeners(builder);
+        pool = builder.recycle ? TooltipPool.get(builder.context) : null;
+        listener = builder.listener;
+        managerListener = builder.managerListener;
+
+        // Registered now, so that the requests made before the content is ready are coalesced with it
+        anchorView = builder.anchorView;
+        requestTag = builder.tag;
+        registerWithAnchor();
+    }
+
+    /**
+     * Content of the pending tooltip is ready. Initialize the tooltip and add it to the root view.
+     */
+    private void showPending(@NonNull View content) {
+        Builder builder = pendingBuilder;
+        pendingContent = null;
+        pendingBuilder = null;
+
+        // Registered again by attach
+        unregisterFromAnchor();
+
+        if ((pendingRootAttached && builder.rootView.getWindowToken() == null)
+                || TooltipContextWatcher.isFinishing(builder.context)) {
+            // Root was removed while the content was prepared. Nothing would ever detach the tooltip from it.
+            dismissPendingDetached();
+            return;
+        }
+
+        init(builder, content);
+        builder.attach(this);
+    }
+
+    /**
+     * Content of the pending tooltip will never be ready. Tooltip is never shown.
+     */
+    private void dropPending() {
+        cancelPending();
+        dismissPendingDetached();
+    }
+
+    /**
+     * Dismiss a pending tooltip whose content is dropped, like a tooltip which is detached from the window
+     */
+    private void dismissPendingDetached() {
+        requestDismiss(DISMISS_DETACH);
+        isDismissed = true;
+        notifyDismissed();
+    }
+
+    /**
+     * Replace the content the pending tooltip is waiting for with a view which is ready now
+     */
+    private void replacePendingContent(@NonNull View content) {
+        pendingContent.cancel();
+        showPending(content);
+    }
+
+    /**
+     * Drop the content which is not ready yet. The tooltip is never shown.
+     */
+    private void cancelPending() {
+        pendingContent.cancel();
+        pendingContent = null;
+        pendingBuilder = null;
+        unregisterFromAnchor();
+    }
+
+    /**
+     * Drop all the references to the content, anchor and listeners so that a pooled tooltip
+     * does not leak them while it waits to be reused.
+     */
+    void recycle() {
+        contentView = null;
+        anchorView = null;
+        rootView = null;
+        host = null;
+        listener = null;
+        managerListener = null;
+        requestTag = null;
+        tip = null;
+        tipPaint = null;
+        tipPath = null;
+        animation = null;
+        pool = null;
+        pendingBuilder = null;
+        clearEventListeners();
+    }
+
+    /**
+     * If the tooltip is visible or animating in. false once it has been dismissed or
+     * the dismiss animation has started.
+     * @return boolean
+     */
+    public boolean isShowing() {
+        return !isDismissed && !isDismissAnimationInProgress;
+    }
+
+    /**
+     * Replace the content of the visible tooltip. Tooltip is laid out again around the anchor.
+     * A tooltip which waits for its content is shown with the view right away.
+     * @param view new content
+     */
+    void replaceContent(@NonNull View view) {
+        if (view == contentView) {
+            return;
+        }
+
+        if (pendingContent != null) {
+            replacePendingContent(view);
+            return;
+        }
+
+        // Running in transition targets the old content. Jump to its end before the view is removed.
+        finishInTransition();
+
+        removeView(contentView);
+        contentView = view;
+        contentVersion++;
+
+        LayoutParams params = view.getLayoutParams();
+        if (params == null) {
+            params = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+        }
+
+        addView(view, params);
+    }
+
+    /**
+     * Find a visible tooltip of the anchor with the tag
+     */
+    @Nullable
+    private static Tooltip findShowing(@NonNull View anchor, @Nullable Object tag) {
+        Object tooltips = anchor.getTag(R.id.tooltip_anchor_tooltips);
+        if (!(tooltips instanceof ArrayList)) {
+            return null;
+        }
+
+        ArrayList<?> list = (ArrayList<?>) tooltips;
+        for (int i=0; i<list.size(); i++) {
+            Tooltip tooltip = (Tooltip) list.get(i);
+            if (tooltip.isShowing() && (tag == null ? tooltip.requestTag == null : tag.equals(tooltip.requestTag))) {
+                return tooltip;
+            }
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerWithAnchor() {
+        Object tooltips = anchorView.getTag(R.id.tooltip_anchor_tooltips);
+        ArrayList<Tooltip> list;
+        if (tooltips instanceof ArrayList) {
+            list = (ArrayList<Tooltip>) tooltips;
+        } else {
+            list = new ArrayList<>(2);
+            anchorView.setTag(R.id.tooltip_anchor_tooltips, list);
+        }
+
+        list.add(this);
+    }
+
+    private void unregisterFromAnchor() {
+        Object tooltips = anchorView.getTag(R.id.tooltip_anchor_tooltips);
+        if (tooltips instanceof ArrayList) {
+            ((ArrayList<?>) tooltips).remove(this);
+        }
     }
 
     /**
@@ -469,12 +1170,26 @@ public class Tooltip extends ViewGroup {
      * @param animate Animation is performed if true
      */
     public void dismiss(boolean animate) {
+        dismiss(animate, DISMISS_PROGRAMMATIC);
+    }
+
+    /**
+     * Dismiss with the reason reported to the {@link EventListener}s
+     */
+    void dismiss(boolean animate, @DismissReason int reason) {
 
         // Dismissing or already dismissed
         if (isDismissed) {
             return;
         }
 
+        if (pendingContent != null) {
+            // Content is not ready, there is nothing to animate. Pending content is cancelled by dismiss().
+            requestDismiss(reason);
+            dismiss();
+            return;
+        }
+
         if (!isAttached) {
             if (debug) {
                 Log.e(TAG, "view is detached. Not animating");
@@ -483,6 +1198,8 @@ public class Tooltip extends ViewGroup {
             return;
         }
 
+        requestDismiss(reason);
+
         if (!animate || animation == null) {
             dismiss();
             return;
@@ -517,18 +1234,33 @@ public class Tooltip extends ViewGroup {
             Log.d(TAG, "size: " + size[0] + ", " + size[1]);
         }
 
-        final Animator animator = getAnimator(animation, point, size, true);
-        if (animator != null) {
-            animator.start();
-            animation.hideContentWhenAnimatingIn(animator, contentView);
+        if (animation.runsOnEngine()) {
+            beginTransition(animation);
+            animateOnEngine(animation, true);
+            return;
         }
 
+        if (inAnimator == null) {
+            inAnimator = getAnimator(animation, point, size, true);
+            if (inAnimator == null) {
+                return;
+            }
+
+            inAnimator.addListener(transitionListener);
+        }
+
+        beginTransition(animation);
+        inAnimator.start();
     }
 
+    /**
+     * Animator of the animation which runs on Animators, null if there is none.
+     * Package private for the benchmarks.
+     */
     @Nullable
-    private Animator getAnimator(@NonNull TooltipAnimation animation,
-                                 @NonNull Point point, @NonNull int[] size,
-                                 boolean animateIn) {
+    Animator getAnimator(@NonNull TooltipAnimation animation,
+                         @NonNull Point point, @NonNull int[] size,
+                         boolean animateIn) {
 
         float startAlpha = 0;
         float endAlpha = 1;
@@ -567,17 +1299,7 @@ public class Tooltip extends ViewGroup {
                 return getScaleAnimator(animation, size, startScale, endScale);
 
             case TooltipAnimation.SCALE_AND_FADE:
-                Animator scaleAnimator = getScaleAnimator(animation, size, startScale, endScale);
-                Animator fadeAnimator = AnimationUtils.fade(this, startAlpha, endAlpha, animation.getDuration());
-
-                if (scaleAnimator == null) {
-                    return fadeAnimator;
-                }
-
-                AnimatorSet animatorSet = new AnimatorSet();
-                animatorSet.playTogether(scaleAnimator, fadeAnimator);
-
-                return animatorSet;
+                return getScaleAndFadeAnimator(animation, size, startScale, endScale, startAlpha, endAlpha);
 
             case TooltipAnimation.NONE:
                 return null;
@@ -603,44 +1325,256 @@ public class Tooltip extends ViewGroup {
             Log.d(TAG, "size: " + size[0] + ", " + size[1]);
         }
 
+        if (animation.runsOnEngine()) {
+            // Engine turns the in transition around if it's still running
+            isDismissAnimationInProgress = true;
+            beginTransition(animation);
+            animation.hideContentWhenAnimatingOut(contentView);
+            animateOnEngine(animation, false);
+            return;
+        }
+
+        if (inAnimator instanceof ValueAnimator && animation.isReversible()) {
+            // Play the in animation backwards. It continues from the current value if it's still running.
+            isDismissAnimationInProgress = true;
+            beginTransition(animation);
+            animation.hideContentWhenAnimatingOut(contentView);
+            ((ValueAnimator) inAnimator).reverse();
+            return;
+        }
+
         Animator animator = getAnimator(animation, point, size, false);
         if (animator == null) {
             dismiss();
             return;
         }
 
-        animator.start();
+        if (inAnimator != null && inAnimator.isRunning()) {
+            inAnimator.cancel();
+        }
+
         isDismissAnimationInProgress = true;
+        outAnimator = animator;
+        animator.addListener(transitionListener);
+        beginTransition(animation);
         animation.hideContentWhenAnimatingOut(contentView);
+        animator.start();
+    }
+
+    /**
+     * Stop the animators without ending the transition, and drop them. Listener is removed first so that
+     * a cancelled animator can't dismiss or notify this tooltip after it has been reused.
+     */
+    private void cancelAnimators() {
+        if (inAnimator != null) {
+            inAnimator.removeListener(transitionListener);
+            inAnimator.cancel();
+            inAnimator = null;
+        }
+
+        if (outAnimator != null) {
+            outAnimator.removeListener(transitionListener);
+            outAnimator.cancel();
+            outAnimator = null;
+        }
+    }
+
+    /**
+     * Jump to the end of the in transition and drop the in animator. Used when the content is replaced,
+     * so that the out animation is created for the new content.
+     */
+    private void finishInTransition() {
+        if (inAnimator != null) {
+            inAnimator.removeListener(transitionListener);
+            inAnimator.end();
+            inAnimator = null;
+        }
+
+        if (animation != null && animation.runsOnEngine()) {
+            TooltipAnimationEngine.getInstance().finish(this);
+        }
+
+        // Restores the layer types while the old content is still set
+        endTransition();
+    }
+
+    private void animateOnEngine(@NonNull TooltipAnimation animation, boolean in) {
+        int type = animation.getType();
+        boolean horizontal = resolvedPosition == LEFT || resolvedPosition == RIGHT;
+
+        if (type == TooltipAnimation.SCALE || type == TooltipAnimation.SCALE_AND_FADE) {
+            int[] size = getTooltipSize();
+            switch (resolvedPosition) {
+                case BOTTOM:
+                    contentView.setPivotX(size[0]/2);
+                    contentView.setPivotY(0);
+                    break;
+                case TOP:
+                    contentView.setPivotX(size[0]/2);
+                    contentView.setPivotY(size[1]);
+                    break;
+                case RIGHT:
+                    contentView.setPivotX(0);
+                    contentView.setPivotY(size[1]/2);
+                    break;
+                case LEFT:
+                    contentView.setPivotX(size[0]);
+                    contentView.setPivotY(size[1]/2);
+                    break;
+            }
+        }
+
+        TooltipAnimationEngine.getInstance().animate(this, contentView, type, in,
+                animation.getDuration(), horizontal);
+    }
+
+    /**
+     * Transition run by {@link TooltipAnimationEngine} has ended
+     */
+    void onEngineTransitionEnd() {
+        if (revealFraction >= 0) {
+            revealFraction = NO_REVEAL;
+            invalidate();
+        }
+
+        endTransition();
+    }
+
+    /**
+     * Clip the tooltip to a circle around the anchor point, with the given fraction of the full radius.
+     * Used by {@link TooltipAnimationEngine} for {@link TooltipAnimation#REVEAL}.
+     */
+    void setRevealFraction(float fraction) {
+        revealFraction = fraction;
+        invalidate();
+    }
+
+    /**
+     * Prepare the views for the in or out animation. Undone in {@link #endTransition()}
+     */
+    private void beginTransition(@NonNull TooltipAnimation animation) {
+        if (!inTransition) {
+            inTransition = true;
+            if (animation.usesHardwareLayer()) {
+                promoteToLayer(animation.getType());
+            }
+        }
+
+        if (!isDismissAnimationInProgress) {
+            contentHidden = animation.hideContent(contentView);
+        }
+
+        if (TooltipMetrics.isEnabled()) {
+            TooltipMetrics.getInstance().begin(this, animation.getType(), isDismissAnimationInProgress
+                    ? TooltipMetrics.DIRECTION_OUT : TooltipMetrics.DIRECTION_IN);
+        }
+    }
+
+    private void endTransition() {
+        if (!inTransition) {
+            return;
+        }
+
+        inTransition = false;
+        restoreLayers();
+
+        if (TooltipMetrics.isEnabled()) {
+            TooltipMetrics.getInstance().end(this);
+        }
+
+        if (contentHidden) {
+            contentHidden = false;
+            if (!isDismissAnimationInProgress) {
+                TooltipAnimation.showContent(contentView);
+            }
+        }
+
+        if (isDismissAnimationInProgress) {
+            dismiss();
+        } else if (eventListenerCount > 0) {
+            long time = System.nanoTime();
+            for (int i=0; i<eventListenerCount; i++) {
+                eventListeners[i].onAnimateInEnd(this, time);
+            }
+        }
+    }
+
+    /**
+     * Render the animated views in a hardware layer, as per {@link TooltipAnimation#getLayerPolicy()}.
+     * Alpha is animated on the tooltip, scale on the content.
+     */
+    private void promoteToLayer(@TooltipAnimation.Type int type) {
+        switch (type) {
+            case TooltipAnimation.FADE:
+            case TooltipAnimation.REVEAL:
+                tooltipLayerType = promoteToLayer(this);
+                break;
+            case TooltipAnimation.SCALE:
+                contentLayerType = promoteToLayer(contentView);
+                break;
+            case TooltipAnimation.SCALE_AND_FADE:
+                contentLayerType = promoteToLayer(contentView);
+                tooltipLayerType = promoteToLayer(this);
+                break;
+        }
+    }
 
-        animator.addListener(new Animator.AnimatorListener() {
-            @Override
-            public void onAnimationStart(Animator animation) {
+    /**
+     * @return previous layer type of the view, or {@link #LAYER_UNCHANGED}
+     */
+    private static int promoteToLayer(@NonNull View view) {
+        int layerType = view.getLayerType();
+        if (layerType == LAYER_TYPE_HARDWARE) {
+            return LAYER_UNCHANGED;
+        }
 
-            }
+        view.setLayerType(LAYER_TYPE_HARDWARE, null);
+        return layerType;
+    }
 
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                dismiss();
-            }
+    private void restoreLayers() {
+        if (tooltipLayerType != LAYER_UNCHANGED) {
+            setLayerType(tooltipLayerType, null);
+            tooltipLayerType = LAYER_UNCHANGED;
+        }
 
-            @Override
-            public void onAnimationCancel(Animator animation) {
-                dismiss();
+        if (contentLayerType != LAYER_UNCHANGED) {
+            if (contentView != null) {
+                contentView.setLayerType(contentLayerType, null);
             }
+            contentLayerType = LAYER_UNCHANGED;
+        }
+    }
 
-            @Override
-            public void onAnimationRepeat(Animator animation) {
+    @NonNull
+    private Animator getScaleAndFadeAnimator(@NonNull TooltipAnimation animation, @NonNull int[] size,
+                                             float startScale, float endScale,
+                                             float startAlpha, float endAlpha) {
 
-            }
-        });
+        int duration = animation.getDuration();
+        switch (resolvedPosition) {
+            case BOTTOM:
+                return AnimationUtils.scaleAndFade(contentView, this, false, size[0]/2, 0,
+                        startScale, endScale, startAlpha, endAlpha, duration);
+            case TOP:
+                return AnimationUtils.scaleAndFade(contentView, this, false, size[0]/2, size[1],
+                        startScale, endScale, startAlpha, endAlpha, duration);
+            case RIGHT:
+                return AnimationUtils.scaleAndFade(contentView, this, true, 0, size[1]/2,
+                        startScale, endScale, startAlpha, endAlpha, duration);
+            case LEFT:
+                return AnimationUtils.scaleAndFade(contentView, this, true, size[0], size[1]/2,
+                        startScale, endScale, startAlpha, endAlpha, duration);
+            default:
+                return AnimationUtils.fade(this, startAlpha, endAlpha, duration);
+        }
     }
 
     @Nullable
     private Animator getScaleAnimator(@NonNull TooltipAnimation animation, @NonNull int size[],
                                       float startScale, float endScale) {
 
-        switch (position) {
+        switch (resolvedPosition) {
             case BOTTOM:
                 return AnimationUtils.scaleY(contentView, size[0]/2, 0 , startScale, endScale, animation.getDuration());
             case TOP:
@@ -679,7 +1613,7 @@ public class Tooltip extends ViewGroup {
 
         /**
          * Position of the Tooltip relative to the anchor. Default position is {@link #TOP}.
-         * Other positions are - {@link #BOTTOM}, {@link #RIGHT}, {@link #LEFT}
+         * Other positions are - {@link #BOTTOM}, {@link #RIGHT}, {@link #LEFT}, {@link #AUTO}
          */
         @Position
         private int position = TOP;
@@ -702,6 +1636,19 @@ public class Tooltip extends ViewGroup {
          */
         private Tip tip;
 
+        /**
+         * Elevation of the tooltip, see {@link #elevation(float)}
+         */
+        private float elevation = 0;
+
+        /**
+         * Lite mode, see {@link #lite(int, float)}
+         */
+        private boolean lite = false;
+        @ColorInt
+        private int liteColor;
+        private float liteCornerRadius;
+
         /**
          * Margin from the anchor and screen boundaries
          */
@@ -718,21 +1665,54 @@ public class Tooltip extends ViewGroup {
          */
         private Tooltip tooltip;
 
-        private Handler handler;
-        private Runnable autoCancelRunnable;
-
         /**
-         * Dismiss Listener for Builder
+         * Displays the tooltip over {@link #rootView}
          */
-        private Listener myListener;
+        private TooltipHost host = DEFAULT_HOST;
+        private static final TooltipHost DEFAULT_HOST = new InlineTooltipHost();
 
         /**
          * Dismiss Listener for User
          */
         private Listener listener;
 
+        /**
+         * Lifecycle event listeners
+         */
+        private EventListener[] eventListeners = new EventListener[INITIAL_EVENT_LISTENERS];
+        private int eventListenerCount = 0;
+
+        /**
+         * Dismiss Listener for {@link TooltipManager}
+         */
+        private Listener managerListener;
+
+        /**
+         * Layout resource of the content, inflated in the background. See {@link #content(int, Binder)}.
+         */
+        @LayoutRes
+        private int contentLayout = NO_LAYOUT;
+        private Binder binder;
+
+        /**
+         * Text content, drawn by a {@link TextTooltip}. See {@link #content(CharSequence, TextTooltip.Style)}.
+         */
+        private CharSequence contentText;
+        private TextTooltip.Style textStyle;
+
+        /**
+         * What to do if the anchor already has a visible tooltip with the same {@link #tag}
+         */
+        @Coalesce
+        private int coalesce = COALESCE_NONE;
+        private Object tag;
+
+        /**
+         * If the last {@link #show()} returned an already visible tooltip
+         */
+        private boolean coalesced = false;
+
         private TooltipAnimation animation;
-        private boolean animate;
 
         /**
          * If the anchor is anchored to some view in CoordinatorLayout, we get incorrect data
@@ -741,30 +1721,23 @@ public class Tooltip extends ViewGroup {
          */
         private boolean checkForPreDraw = false;
 
+        /**
+         * Follow the anchor when it moves in a scrolling container
+         */
+        private boolean trackAnchor = false;
+
         /**
          * Show logs
          */
         private boolean debug = false;
 
+        /**
+         * Obtain the Tooltip from {@link TooltipPool} and return it to the pool once dismissed.
+         */
+        private boolean recycle = false;
+
         public Builder(@NonNull Context context) {
             this.context = context;
-            handler = new Handler();
-
-            autoCancelRunnable = new Runnable() {
-                @Override
-                public void run() {
-                    if (tooltip != null) {
-                        tooltip.dismiss(animate);
-                    }
-                }
-            };
-
-            myListener = new Listener() {
-                @Override
-                public void onDismissed() {
-                    handler.removeCallbacks(autoCancelRunnable);
-                }
-            };
         }
 
         /**
@@ -774,6 +1747,52 @@ public class Tooltip extends ViewGroup {
          */
         public Builder content(@NonNull View view) {
             this.contentView = view;
+            this.contentLayout = NO_LAYOUT;
+            this.binder = null;
+            this.contentText = null;
+            return this;
+        }
+
+        /**
+         * Set a text as the tooltip content. Text is drawn by a single {@link TextTooltip} view and its
+         * layout is computed on a background thread when the tooltip is shown. {@link #show()} returns
+         * the tooltip right away and it's added to the root view once the text layout is ready.
+         * <br><br>
+         * If the tooltip is dismissed before the text layout is ready, it's never shown.
+         * {@link #build()} computes the text layout on the main thread.
+         *
+         * @param text text of the tooltip
+         * @param style {@link TextTooltip.Style} of the text and the background
+         * @return Builder
+         */
+        public Builder content(@NonNull CharSequence text, @NonNull TextTooltip.Style style) {
+            this.contentView = null;
+            this.contentLayout = NO_LAYOUT;
+            this.binder = null;
+            this.contentText = text;
+            this.textStyle = style;
+            return this;
+        }
+
+        /**
+         * Set the layout resource of the tooltip content. Layout is inflated on a background thread when the
+         * tooltip is shown, or ahead of time with {@link TooltipInflater#preinflate(int)}, and the tooltip is
+         * added to the root view once the content is ready. {@link #show()} returns the tooltip right away.
+         * <br><br>
+         * If the tooltip is dismissed before the content is inflated, it's never shown. The listener is still
+         * called and the inflated view is kept for the next tooltip with this layout.
+         * <br><br>
+         * {@link #build()} inflates the layout on the main thread, unless it's already inflated.
+         *
+         * @param layout layout resource of the content
+         * @param binder binds the data to the inflated view. Called on the main thread.
+         * @return Builder
+         */
+        public Builder content(@LayoutRes int layout, @Nullable Binder binder) {
+            this.contentView = null;
+            this.contentText = null;
+            this.contentLayout = layout;
+            this.binder = binder;
             return this;
         }
 
@@ -791,7 +1810,7 @@ public class Tooltip extends ViewGroup {
          * Set tooltip's anchor with tooltip's relative position
          * @param view Anchor view
          * @param position position of tooltip relative to the anchor. {@link #TOP}, {@link #RIGHT},
-         *                 {@link #BOTTOM}, {@link #LEFT}
+         *                 {@link #BOTTOM}, {@link #LEFT}, {@link #AUTO}
          * @return Builder
          */
         public Builder anchor(@NonNull View view, @Position int position) {
@@ -810,6 +1829,22 @@ public class Tooltip extends ViewGroup {
             return this;
         }
 
+        /**
+         * Set how the tooltip is displayed over the root view. Default is {@link InlineTooltipHost},
+         * which adds the tooltip to the root view.
+         * <br>
+         * Use {@link OverlayTooltipHost} or {@link WindowTooltipHost} to avoid a layout pass of the root view
+         * when the tooltip is shown and dismissed. Tooltip in the overlay does not receive touches, so it
+         * should not be {@link #cancelable(boolean)}.
+         *
+         * @param host {@link TooltipHost}
+         * @return Builder
+         */
+        public Builder host(@NonNull TooltipHost host) {
+            this.host = host;
+            return this;
+        }
+
         /**
          * Whether the tooltip should be dismissed or not if clicked outside. Default it true
          * @param cancelable boolean
@@ -854,6 +1889,20 @@ public class Tooltip extends ViewGroup {
             return this;
         }
 
+        /**
+         * Add a listener of the lifecycle events of the tooltip
+         * @param listener {@link EventListener}
+         * @return Builder
+         */
+        public Builder addEventListener(@NonNull EventListener listener) {
+            if (eventListenerCount == eventListeners.length) {
+                eventListeners = Arrays.copyOf(eventListeners, eventListenerCount * 2);
+            }
+
+            eventListeners[eventListenerCount++] = listener;
+            return this;
+        }
+
         /**
          * Show Tip. If null, it doesn't show the tip.
          * @param tip {@link Tip}
@@ -864,6 +1913,40 @@ public class Tooltip extends ViewGroup {
             return this;
         }
 
+        /**
+         * Lite mode. Tooltip draws the bubble behind the content and the tip as a single rounded path,
+         * with one paint, instead of the content drawing its own background and the tip being drawn on top.
+         * Content should not have a background in lite mode.
+         * <br><br>
+         * Width, height and radius of the {@link Tip} are used. The tip is drawn in the bubble color.
+         *
+         * @param color color of the bubble and the tip
+         * @param cornerRadius radius of the corners of the bubble in pixels
+         * @return Builder
+         */
+        public Builder lite(@ColorInt int color, float cornerRadius) {
+            this.lite = true;
+            this.liteColor = color;
+            this.liteCornerRadius = cornerRadius;
+            return this;
+        }
+
+        /**
+         * Elevation of the tooltip. Shadow is cast by the outline of the content and the tip, which is
+         * computed when the content is laid out and rendered by the RenderThread. Corners of the outline
+         * are rounded with the corner radius of {@link #lite(int, float)}, and they are square otherwise.
+         * <br><br>
+         * Supported on sdk 21 and above. On sdk 21 to 29, the outline is the convex hull of the content
+         * and the tip.
+         *
+         * @param elevation elevation in pixels
+         * @return Builder
+         */
+        public Builder elevation(float elevation) {
+            this.elevation = elevation;
+            return this;
+        }
+
         /**
          * If you want the tooltip to dismiss automatically after a certain amount of time,
          * set it in milliseconds. Values &lt;= 0 are considered invalid and auto dismiss is turned off.
@@ -886,7 +1969,6 @@ public class Tooltip extends ViewGroup {
          */
         public Builder animate(@NonNull TooltipAnimation animation) {
             this.animation = animation;
-            this.animate = true;
             return this;
         }
 
@@ -903,6 +1985,21 @@ public class Tooltip extends ViewGroup {
             return this;
         }
 
+        /**
+         * Follow the anchor if it moves while the tooltip is shown, eg. when the anchor is inside a
+         * ScrollView or a RecyclerView. Tooltip checks the anchor position before every frame is drawn
+         * and translates the content and the tip by the distance the anchor has moved. The tooltip is not
+         * laid out again, so {@link #autoAdjust(boolean)} is only applied on the next layout pass.
+         * Default is false.
+         *
+         * @param track boolean
+         * @return Builder
+         */
+        public Builder trackAnchor(boolean track) {
+            this.trackAnchor = track;
+            return this;
+        }
+
         /**
          * Show logs
          * @param debug boolean
@@ -913,6 +2010,133 @@ public class Tooltip extends ViewGroup {
             return this;
         }
 
+        /**
+         * Reuse Tooltip instances. If true, {@link #build()} takes a tooltip from the {@link TooltipPool}
+         * of the context (if available) and the tooltip is returned to the pool once it is dismissed.
+         * <br><br>
+         * Do not keep a reference to a recyclable tooltip after it has been dismissed, as the same instance
+         * may be shown again for some other anchor. Default is false.
+         *
+         * @param recycle boolean
+         * @return Builder
+         */
+        public Builder recycle(boolean recycle) {
+            this.recycle = recycle;
+            return this;
+        }
+
+        /**
+         * Do not stack another tooltip on an anchor which already has a visible tooltip.
+         * If the anchor has a visible tooltip with the same tag ({@link #tag(Object)}),
+         * {@link #show()} returns it instead of showing a new one. Default is {@link #COALESCE_NONE}.
+         *
+         * @param coalesce {@link Coalesce}
+         * @return Builder
+         */
+        public Builder coalesce(@Coalesce int coalesce) {
+            this.coalesce = coalesce;
+            return this;
+        }
+
+        /**
+         * Tag of the tooltip. Only tooltips with equal tags (or without tags) of the same anchor are coalesced.
+         * See {@link #coalesce(int)}
+         *
+         * @param tag tag
+         * @return Builder
+         */
+        public Builder tag(@Nullable Object tag) {
+            this.tag = tag;
+            return this;
+        }
+
+        boolean isCoalesced() {
+            return coalesced;
+        }
+
+        /**
+         * Content view of the tooltip. Content set with a layout resource is inflated and bound
+         * on the main thread, unless it's already inflated.
+         */
+        @Nullable
+        View obtainContentView() {
+            if (contentView == null && contentText != null) {
+                return TextTooltip.create(context, contentText, textStyle, getAvailableWidth());
+            }
+
+            if (contentView == null && contentLayout != NO_LAYOUT) {
+                return bind(TooltipInflater.get(context).inflateNow(contentLayout));
+            }
+
+            return contentView;
+        }
+
+        /**
+         * Width of the root view without the padding, 0 if the root view is not laid out yet
+         */
+        private int getAvailableWidth() {
+            if (rootView == null || rootView.getWidth() == 0) {
+                return 0;
+            }
+
+            return Math.max(1, rootView.getWidth() - 2 * padding);
+        }
+
+        @NonNull
+        private View bind(@NonNull View view) {
+            if (binder != null) {
+                binder.onBind(view);
+            }
+
+            return view;
+        }
+
+        @Nullable
+        View getAnchorView() {
+            return anchorView;
+        }
+
+        @Position
+        int getPosition() {
+            return position;
+        }
+
+        int getPadding() {
+            return padding;
+        }
+
+        boolean isAutoAdjust() {
+            return autoAdjust;
+        }
+
+        boolean isCancelable() {
+            return cancelable;
+        }
+
+        @Nullable
+        Tip getTip() {
+            return tip;
+        }
+
+        @Nullable
+        Listener getListener() {
+            return listener;
+        }
+
+        void setManagerListener(@Nullable Listener listener) {
+            this.managerListener = listener;
+        }
+
+        @Nullable
+        Listener getManagerListener() {
+            return managerListener;
+        }
+
+        @Nullable
+        ViewGroup getRootView() {
+            return rootView;
+        }
+
         /**
          * Create a new instance of Tooltip. This method will throw {@link NullPointerException}
          * if {@link #anchorView} or {@link #rootView} or {@link #contentView} is not assigned.
@@ -927,33 +2151,144 @@ public class Tooltip extends ViewGroup {
                 throw new NullPointerException("Root view is null");
             }
 
-            if (contentView == null) {
+            View content = obtainContentView();
+            if (content == null) {
                 throw new NullPointerException("content view is null");
             }
 
-            tooltip = new Tooltip(this);
+            tooltip = newTooltip();
+            tooltip.init(this, content);
             return tooltip;
         }
 
+        @NonNull
+        private Tooltip newTooltip() {
+            return recycle ? TooltipPool.get(context).acquire(context) : new Tooltip(context);
+        }
+
         /**
-         * Creates a new instance of Tooltip by calling {@link #build()} and adds tooltip to {@link #rootView}.
+         * Creates a new instance of Tooltip by calling {@link #build()} and adds tooltip to {@link #rootView}
+         * with the {@link TooltipHost}.
          * <br><br>
-         * Tooltip is added to the rootView with MATCH_PARENT for width and height constraints. {@link #contentView}
+         * Tooltip covers the rootView, with MATCH_PARENT for width and height constraints. {@link #contentView}
          * is drawn based on its LayoutParams. If it does not contain any LayoutParams, new LayoutParams are generated
          * with WRAP_CONTENT for width and height and added to the Tooltip view.
          *
          * @return Generated {@link Tooltip}
          */
         public Tooltip show() {
+            long requestTime = System.nanoTime();
+            coalesced = false;
+
+            if (cancelable && host instanceof OverlayTooltipHost && Build.VERSION.SDK_INT >= 18) {
+                Log.e(TAG, "Tooltip in the overlay does not receive touches and can not be cancelled by touch. "
+                        + "Use autoCancel or dismiss it.");
+            }
+
+            if (coalesce != COALESCE_NONE && anchorView != null) {
+                Tooltip showing = findShowing(anchorView, tag);
+                if (showing != null) {
+                    return coalesce(showing);
+                }
+            }
+
+            if (contentView == null && (contentText != null || (contentLayout != NO_LAYOUT
+                    && !TooltipInflater.get(context).hasInflated(contentLayout)))) {
+                return showWhenReady(requestTime);
+            }
+
             tooltip = build();
+            tooltip.notifyShowRequested(requestTime);
+            attach(tooltip);
+            return tooltip;
+        }
+
+        /**
+         * Prepare the content in the background and add the tooltip once it's ready
+         */
+        @NonNull
+        private Tooltip showWhenReady(long requestTime) {
+            if (anchorView == null) {
+                throw new NullPointerException("anchor view is null");
+            }
+
+            if (rootView == null) {
+                throw new NullPointerException("Root view is null");
+            }
+
+            final Tooltip pending = newTooltip();
+
+            // Builder can be changed and reused before the content is ready
+            final Builder snapshot = snapshot();
+            PendingContent.Callback callback = new PendingContent.Callback() {
+                @Override
+                public void onReady(@NonNull View view) {
+                    pending.showPending(snapshot.contentText == null ? snapshot.bind(view) : view);
+                }
+
+                @Override
+                public void onDropped() {
+                    pending.dropPending();
+                }
+            };
 
+            PendingContent content = contentText == null
+                    ? TooltipInflater.get(context).inflate(contentLayout, callback)
+                    : TextTooltip.prepare(context, contentText, textStyle, getAvailableWidth(), callback);
+
+            pending.initPending(snapshot, content);
+            pending.notifyShowRequested(requestTime);
+            tooltip = pending;
+            return pending;
+        }
+
+        /**
+         * Copy of the builder with the current values
+         */
+        @NonNull
+        private Builder snapshot() {
+            Builder copy = new Builder(context);
+            copy.rootView = rootView;
+            copy.contentView = contentView;
+            copy.anchorView = anchorView;
+            copy.position = position;
+            copy.cancelable = cancelable;
+            copy.autoAdjust = autoAdjust;
+            copy.tip = tip;
+            copy.elevation = elevation;
+            copy.lite = lite;
+            copy.liteColor = liteColor;
+            copy.liteCornerRadius = liteCornerRadius;
+            copy.padding = padding;
+            copy.autoCancelTime = autoCancelTime;
+            copy.host = host;
+            copy.listener = listener;
+            copy.eventListeners = Arrays.copyOf(eventListeners, eventListeners.length);
+            copy.eventListenerCount = eventListenerCount;
+            copy.managerListener = managerListener;
+            copy.contentLayout = contentLayout;
+            copy.binder = binder;
+            copy.contentText = contentText;
+            copy.textStyle = textStyle;
+            copy.coalesce = coalesce;
+            copy.tag = tag;
+            copy.animation = animation;
+            copy.checkForPreDraw = checkForPreDraw;
+            copy.trackAnchor = trackAnchor;
+            copy.debug = debug;
+            copy.recycle = recycle;
+            return copy;
+        }
+
+        private void attach(@NonNull Tooltip tooltip) {
             int[] anchorLocation = new int[2];
             anchorView.getLocationInWindow(anchorLocation);
             if (debug) {
                 Log.d(TAG, "anchor location before adding: " + anchorLocation[0] + ", " + anchorLocation[1]);
             }
 
-            rootView.addView(tooltip, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+            host.attach(rootView, tooltip);
+            tooltip.registerWithAnchor();
 
             anchorView.getLocationInWindow(anchorLocation);
             if (debug) {
@@ -961,7 +2296,8 @@ public class Tooltip extends ViewGroup {
             }
 
             if (autoCancelTime > NO_AUTO_CANCEL) {
-                handler.postDelayed(autoCancelRunnable, autoCancelTime);
+                tooltip.autoCancelScheduled = true;
+                TooltipScheduler.getInstance().schedule(tooltip, autoCancelTime);
             }
 
             /*if (animate && animation != null) {
@@ -976,10 +2312,28 @@ public class Tooltip extends ViewGroup {
                 });
 
             }*/
-
-            return tooltip;
         }
 
+        @NonNull
+        private Tooltip coalesce(@NonNull Tooltip showing) {
+            coalesced = true;
+            tooltip = showing;
+
+            if (coalesce == COALESCE_REPLACE_CONTENT) {
+                View content = obtainContentView();
+                if (content != null) {
+                    showing.replaceContent(content);
+                }
+            }
+
+            // Restart the auto cancel timer
+            if (autoCancelTime > NO_AUTO_CANCEL) {
+                showing.autoCancelScheduled = true;
+                TooltipScheduler.getInstance().schedule(showing, autoCancelTime);
+            }
+
+            return showing;
+        }
     }
 
     /**
@@ -1011,7 +2365,7 @@ public class Tooltip extends ViewGroup {
         /**
          * Corner radius of the tip in px
          */
-        private int tipRadius;
+        private final int tipRadius;
         private static final int DEFAULT_TIP_RADIUS = 0;
 
         public Tip(int width, int height, int color, int tipRadius) {
@@ -1041,6 +2395,30 @@ public class Tooltip extends ViewGroup {
         public int getTipRadius() {
             return tipRadius;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Tip)) {
+                return false;
+            }
+
+            Tip other = (Tip) o;
+            return width == other.width && height == other.height
+                    && color == other.color && tipRadius == other.tipRadius;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = width;
+            result = 31 * result + height;
+            result = 31 * result + color;
+            result = 31 * result + tipRadius;
+            return result;
+        }
     }
 
     /**
@@ -1049,4 +2427,64 @@ public class Tooltip extends ViewGroup {
     public interface Listener {
         void onDismissed();
     }
+
+    /**
+     * Lifecycle events of a tooltip, with {@link System#nanoTime()} timestamps. Add it with
+     * {@link Builder#addEventListener(EventListener)}. Events are delivered on the main thread, in this order:
+     * <ul>
+     *     <li>{@link #onShowRequested(Tooltip, long)} - {@link Builder#show()} was called</li>
+     *     <li>{@link #onAttached(Tooltip, long)} - tooltip was attached to the window</li>
+     *     <li>{@link #onFirstDraw(Tooltip, long)} - tooltip was drawn with its content laid out</li>
+     *     <li>{@link #onAnimateInEnd(Tooltip, long)} - animate in has ended. Only with an animation.</li>
+     *     <li>{@link #onDismissRequested(Tooltip, int, long)} - first dismiss request, with its reason</li>
+     *     <li>{@link #onDetached(Tooltip, long)} - tooltip was detached from the window</li>
+     * </ul>
+     * A tooltip which is dismissed before its content is ready is never attached.
+     * Use {@link SimpleEventListener} to only receive some of the events.
+     */
+    public interface EventListener {
+        void onShowRequested(@NonNull Tooltip tooltip, long timeNanos);
+        void onAttached(@NonNull Tooltip tooltip, long timeNanos);
+        void onFirstDraw(@NonNull Tooltip tooltip, long timeNanos);
+        void onAnimateInEnd(@NonNull Tooltip tooltip, long timeNanos);
+        void onDismissRequested(@NonNull Tooltip tooltip, @DismissReason int reason, long timeNanos);
+        void onDetached(@NonNull Tooltip tooltip, long timeNanos);
+    }
+
+    /**
+     * {@link EventListener} with empty methods
+     */
+    public static class SimpleEventListener implements EventListener {
+        @Override
+        public void onShowRequested(@NonNull Tooltip tooltip, long timeNanos) {
+        }
+
+        @Override
+        public void onAttached(@NonNull Tooltip tooltip, long timeNanos) {
+        }
+
+        @Override
+        public void onFirstDraw(@NonNull Tooltip tooltip, long timeNanos) {
+        }
+
+        @Override
+        public void onAnimateInEnd(@NonNull Tooltip tooltip, long timeNanos) {
+        }
+
+        @Override
+        public void onDismissRequested(@NonNull Tooltip tooltip, @DismissReason int reason, long timeNanos) {
+        }
+
+        @Override
+        public void onDetached(@NonNull Tooltip tooltip, long timeNanos) {
+        }
+    }
+
+    /**
+     * Binds the data to the content inflated from a layout resource. See {@link Builder#content(int, Binder)}.
+     * {@link #onBind(View)} is called on the main thread before the tooltip is added to the root view.
+     */
+    public interface Binder {
+        void onBind(@NonNull View view);
+    }
 }
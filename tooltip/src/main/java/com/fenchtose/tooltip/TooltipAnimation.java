@@ -1,6 +1,5 @@
 package com.fenchtose.tooltip;
 
-import android.animation.Animator;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -40,10 +39,54 @@ public class TooltipAnimation {
     @Retention(RetentionPolicy.SOURCE)
     public @interface Type {}
 
+    public static final int LAYER_AUTO = 0;
+    public static final int LAYER_HARDWARE = 1;
+    public static final int LAYER_NONE = 2;
+
+    /**
+     * Layer type of the animated views while animating:
+     * <br>
+     * <ul>
+     *     <li>{@link #LAYER_AUTO} : Hardware layer for {@link #FADE}, {@link #SCALE} and {@link #SCALE_AND_FADE}.</li>
+     *     <li>{@link #LAYER_HARDWARE} : Hardware layer for all the animations.</li>
+     *     <li>{@link #LAYER_NONE} : Layer type is not changed.</li>
+     * </ul>
+     * Animated views are rendered into an offscreen buffer once and the buffer is transformed on every frame,
+     * instead of drawing the whole content again. Layer type is restored when the animation ends or is cancelled.
+     */
+    @IntDef({LAYER_AUTO, LAYER_HARDWARE, LAYER_NONE})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface LayerPolicy {}
+
+    public static final int BACKEND_ANIMATOR = 0;
+    public static final int BACKEND_ENGINE = 1;
+
+    /**
+     * How the animation is run:
+     * <br>
+     * <ul>
+     *     <li>{@link #BACKEND_ANIMATOR} : Each tooltip runs its own {@link android.animation.Animator}s
+     *     created by {@link AnimationUtils}.</li>
+     *     <li>{@link #BACKEND_ENGINE} : Animations of all the tooltips are stepped by one
+     *     {@link android.view.Choreographer} frame callback. Useful when many tooltips animate at once.
+     *     Supported on API 16 and above, and on API 18 and above for {@link #REVEAL}. Animators are used
+     *     on older versions.</li>
+     * </ul>
+     */
+    @IntDef({BACKEND_ANIMATOR, BACKEND_ENGINE})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Backend {}
+
     @Type
     private int type;
     private static final int DEFAULT_TYPE = FADE;
 
+    @LayerPolicy
+    private int layerPolicy;
+
+    @Backend
+    private int backend;
+
     private static final int DEFAULT_DURATION = 400; // ms
     private int duration;
     private boolean hideContentWhenAnimating;
@@ -66,9 +109,38 @@ public class TooltipAnimation {
      * @param hideContentWhenAnimating hide content when animating
      */
     public TooltipAnimation(@Type int type, int duration, boolean hideContentWhenAnimating) {
+        this(type, duration, hideContentWhenAnimating, LAYER_AUTO);
+    }
+
+    /**
+     * Create a new Animation object for {@link Tooltip}
+     *
+     * @param type {@link Type}
+     * @param duration animation duration in milliseconds
+     * @param hideContentWhenAnimating hide content when animating
+     * @param layerPolicy {@link LayerPolicy}
+     */
+    public TooltipAnimation(@Type int type, int duration, boolean hideContentWhenAnimating,
+                            @LayerPolicy int layerPolicy) {
+        this(type, duration, hideContentWhenAnimating, layerPolicy, BACKEND_ANIMATOR);
+    }
+
+    /**
+     * Create a new Animation object for {@link Tooltip}
+     *
+     * @param type {@link Type}
+     * @param duration animation duration in milliseconds
+     * @param hideContentWhenAnimating hide content when animating
+     * @param layerPolicy {@link LayerPolicy}
+     * @param backend {@link Backend}
+     */
+    public TooltipAnimation(@Type int type, int duration, boolean hideContentWhenAnimating,
+                            @LayerPolicy int layerPolicy, @Backend int backend) {
         this.type = type;
         this.duration = duration;
         this.hideContentWhenAnimating = hideContentWhenAnimating;
+        this.layerPolicy = layerPolicy;
+        this.backend = backend;
     }
 
     /**
@@ -99,32 +171,63 @@ public class TooltipAnimation {
         return duration;
     }
 
-    void hideContentWhenAnimatingIn(@NonNull final Animator animator, @NonNull final View contentView) {
-        if (hideContentWhenAnimating && contentView instanceof ViewGroup) {
-            hideAllChildren((ViewGroup) contentView);
-            animator.addListener(new Animator.AnimatorListener() {
-                @Override
-                public void onAnimationStart(Animator animation) {
+    @LayerPolicy
+    public int getLayerPolicy() {
+        return layerPolicy;
+    }
 
-                }
+    @Backend
+    public int getBackend() {
+        return backend;
+    }
 
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    showAllChildren((ViewGroup) contentView);
-                    animator.removeListener(this);
-                }
+    /**
+     * Whether the animation is run by {@link TooltipAnimationEngine}
+     */
+    boolean runsOnEngine() {
+        return backend == BACKEND_ENGINE && type != NONE && TooltipAnimationEngine.isSupported(type);
+    }
 
-                @Override
-                public void onAnimationCancel(Animator animation) {
-                    showAllChildren((ViewGroup) contentView);
-                    animator.removeListener(this);
-                }
+    /**
+     * Whether the animated views are rendered in a hardware layer while animating
+     * @return boolean
+     */
+    public boolean usesHardwareLayer() {
+        switch (layerPolicy) {
+            case LAYER_HARDWARE:
+                return type != NONE;
+            case LAYER_NONE:
+                return false;
+            case LAYER_AUTO:
+            default:
+                return type == FADE || type == SCALE || type == SCALE_AND_FADE;
+        }
+    }
+
+    /**
+     * Whether the out animation can be played by reversing the in animation
+     * @return boolean
+     */
+    public boolean isReversible() {
+        return type == FADE || type == SCALE || type == SCALE_AND_FADE;
+    }
 
-                @Override
-                public void onAnimationRepeat(Animator animation) {
+    /**
+     * Hide the children of the content if {@link #hideContentWhenAnimating} is set.
+     * @return true if the children were hidden
+     */
+    boolean hideContent(@NonNull View contentView) {
+        if (hideContentWhenAnimating && contentView instanceof ViewGroup) {
+            hideAllChildren((ViewGroup) contentView);
+            return true;
+        }
+
+        return false;
+    }
 
-                }
-            });
+    static void showContent(@NonNull View contentView) {
+        if (contentView instanceof ViewGroup) {
+            showAllChildren((ViewGroup) contentView);
         }
     }
 
@@ -0,0 +1,268 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Steps the in and out animations of all the tooltips from one {@link Choreographer.FrameCallback},
+ * as an alternative to {@link AnimationUtils} animators. Used by {@link TooltipAnimation#BACKEND_ENGINE}.
+ * <br><br>
+ * State of the running transitions is kept in a table of primitive arrays. Each frame updates alpha,
+ * scale and reveal values of all the running transitions in one loop, and nothing is allocated per frame
+ * or per transition once the table is big enough.
+ * <br><br>
+ * Values follow the default interpolation of the Android animators (accelerate-decelerate).
+ * Engine is available on API 16 and above and must only be used from the main thread. The frame callback
+ * is kept in {@link FrameStepper}, so that {@link #isSupported(int)} can be called on older versions.
+ * {@link TooltipAnimation#REVEAL} clips the canvas to a circle, which hardware accelerated canvases
+ * only support from API 18, so reveal runs on the engine from API 18.
+ */
+final class TooltipAnimationEngine {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final long NOT_STARTED = -1;
+
+    private static TooltipAnimationEngine instance;
+
+    private Tooltip[] tooltips = new Tooltip[INITIAL_CAPACITY];
+    private View[] contents = new View[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private boolean[] horizontal = new boolean[INITIAL_CAPACITY];
+    private boolean[] forward = new boolean[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] durations = new long[INITIAL_CAPACITY];
+    private int count = 0;
+
+    private final FrameStepper stepper = new FrameStepper();
+    private boolean frameScheduled = false;
+
+    /**
+     * Time of the last frame in nanoseconds, to turn around running transitions
+     */
+    private long lastFrameTime = 0;
+
+    private TooltipAnimationEngine() {
+    }
+
+    static boolean isSupported(@TooltipAnimation.Type int type) {
+        if (type == TooltipAnimation.REVEAL) {
+            return Build.VERSION.SDK_INT >= 18;
+        }
+
+        return Build.VERSION.SDK_INT >= 16;
+    }
+
+    @NonNull
+    static TooltipAnimationEngine getInstance() {
+        if (instance == null) {
+            instance = new TooltipAnimationEngine();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Start the in or out transition of the tooltip. If the tooltip is already animating, the running
+     * transition is turned around from its current value, like {@link android.animation.ValueAnimator#reverse()}.
+     *
+     * @param tooltip Tooltip to be animated. It's notified when the transition ends.
+     * @param content content view of the tooltip, which is scaled
+     * @param type {@link TooltipAnimation.Type}
+     * @param in true to animate in, false to animate out
+     * @param duration duration in milliseconds
+     * @param horizontalScale scale X if true, scale Y otherwise
+     */
+    void animate(@NonNull Tooltip tooltip, @NonNull View content, @TooltipAnimation.Type int type,
+                 boolean in, int duration, boolean horizontalScale) {
+
+        long durationNanos = duration * 1000000L;
+        int index = indexOf(tooltip);
+
+        if (index >= 0) {
+            if (forward[index] != in && startTimes[index] != NOT_STARTED) {
+                // Continue from the current value in the other direction
+                long elapsed = Math.min(lastFrameTime - startTimes[index], durations[index]);
+                startTimes[index] = lastFrameTime - (durationNanos - elapsed * durationNanos / Math.max(1, durations[index]));
+            }
+        } else {
+            if (count == tooltips.length) {
+                grow();
+            }
+
+            index = count++;
+            tooltips[index] = tooltip;
+            startTimes[index] = NOT_STARTED;
+        }
+
+        contents[index] = content;
+        types[index] = type;
+        horizontal[index] = horizontalScale;
+        durations[index] = durationNanos;
+
+        if (startTimes[index] == NOT_STARTED) {
+            // Initial value until the first frame
+            apply(index, in ? 0 : 1);
+        }
+
+        forward[index] = in;
+
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(stepper);
+        }
+    }
+
+    /**
+     * Stop the transition of the tooltip without notifying it
+     */
+    void cancel(@NonNull Tooltip tooltip) {
+        int index = indexOf(tooltip);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    /**
+     * Jump to the end value of the transition of the tooltip and notify it
+     */
+    void finish(@NonNull Tooltip tooltip) {
+        int index = indexOf(tooltip);
+        if (index >= 0) {
+            apply(index, forward[index] ? 1 : 0);
+            removeAt(index);
+            tooltip.onEngineTransitionEnd();
+        }
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        lastFrameTime = frameTimeNanos;
+
+        // Backwards, so that finished transitions can be removed while iterating
+        for (int i=count-1; i>=0; i--) {
+            if (i >= count) {
+                // Removed by the callback of another tooltip
+                continue;
+            }
+
+            if (startTimes[i] == NOT_STARTED) {
+                startTimes[i] = frameTimeNanos;
+            }
+
+            float fraction = durations[i] <= 0 ? 1
+                    : Math.min(1f, (float) (frameTimeNanos - startTimes[i]) / durations[i]);
+
+            // Accelerate decelerate
+            float value = (float) (Math.cos((fraction + 1) * Math.PI) / 2.0f) + 0.5f;
+            apply(i, forward[i] ? value : 1 - value);
+
+            if (fraction >= 1) {
+                Tooltip tooltip = tooltips[i];
+                removeAt(i);
+                tooltip.onEngineTransitionEnd();
+            }
+        }
+
+        if (count > 0 && !frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(stepper);
+        }
+    }
+
+    private void apply(int index, float value) {
+        switch (types[index]) {
+            case TooltipAnimation.FADE:
+                tooltips[index].setAlpha(value);
+                break;
+            case TooltipAnimation.SCALE:
+                scale(contents[index], horizontal[index], value);
+                break;
+            case TooltipAnimation.SCALE_AND_FADE:
+                scale(contents[index], horizontal[index], value);
+                tooltips[index].setAlpha(value);
+                break;
+            case TooltipAnimation.REVEAL:
+                tooltips[index].setRevealFraction(value);
+                break;
+        }
+    }
+
+    private static void scale(@NonNull View view, boolean horizontal, float value) {
+        if (horizontal) {
+            view.setScaleX(value);
+        } else {
+            view.setScaleY(value);
+        }
+    }
+
+    private int indexOf(@NonNull Tooltip tooltip) {
+        for (int i=0; i<count; i++) {
+            if (tooltips[i] == tooltip) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        count--;
+        tooltips[index] = tooltips[count];
+        contents[index] = contents[count];
+        types[index] = types[count];
+        horizontal[index] = horizontal[count];
+        forward[index] = forward[count];
+        startTimes[index] = startTimes[count];
+        durations[index] = durations[count];
+        tooltips[count] = null;
+        contents[count] = null;
+
+        if (count == 0 && frameScheduled) {
+            frameScheduled = false;
+            Choreographer.getInstance().removeFrameCallback(stepper);
+        }
+    }
+
+    private void grow() {
+        int capacity = tooltips.length * 2;
+
+        Tooltip[] newTooltips = new Tooltip[capacity];
+        View[] newContents = new View[capacity];
+        int[] newTypes = new int[capacity];
+        boolean[] newHorizontal = new boolean[capacity];
+        boolean[] newForward = new boolean[capacity];
+        long[] newStartTimes = new long[capacity];
+        long[] newDurations = new long[capacity];
+
+        System.arraycopy(tooltips, 0, newTooltips, 0, count);
+        System.arraycopy(contents, 0, newContents, 0, count);
+        System.arraycopy(types, 0, newTypes, 0, count);
+        System.arraycopy(horizontal, 0, newHorizontal, 0, count);
+        System.arraycopy(forward, 0, newForward, 0, count);
+        System.arraycopy(startTimes, 0, newStartTimes, 0, count);
+        System.arraycopy(durations, 0, newDurations, 0, count);
+
+        tooltips = newTooltips;
+        contents = newContents;
+        types = newTypes;
+        horizontal = newHorizontal;
+        forward = newForward;
+        startTimes = newStartTimes;
+        durations = newDurations;
+    }
+
+    /**
+     * Choreographer callback, kept out of the engine class which is loaded on all sdk versions
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameStepper implements Choreographer.FrameCallback {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            getInstance().onFrame(frameTimeNanos);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Build;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Drops the state which is kept per context, eg. {@link TooltipPool} and {@link TooltipInflater}, when the Activity of the context
+ * is destroyed. That state holds views, which hold the context, so it can't be cleared by a weak key alone.
+ * <br><br>
+ * Activity lifecycle callbacks are supported on sdk 14 and above. Must only be used from the main thread.
+ */
+final class TooltipContextWatcher {
+
+    private static final boolean SUPPORTED = Build.VERSION.SDK_INT >= 14;
+
+    private static Application watchedApplication;
+
+    private TooltipContextWatcher() {
+    }
+
+    /**
+     * Start watching the Activity of the context.
+     * @return true if state for the context can be kept. false if the context belongs to an Activity
+     * whose destruction can't be observed.
+     */
+    static boolean watch(@NonNull Context context) {
+        Activity activity = activityOf(context);
+        if (activity == null) {
+            // Application and other long lived contexts
+            return true;
+        }
+
+        if (!SUPPORTED) {
+            return false;
+        }
+
+        Application application = activity.getApplication();
+        if (application == null) {
+            return false;
+        }
+
+        if (application != watchedApplication) {
+            Callbacks.register(application);
+            watchedApplication = application;
+        }
+
+        return true;
+    }
+
+    /**
+     * Unwrap the context to its Activity
+     * @return Activity or null if the context doesn't belong to one
+     */
+    @Nullable
+    static Activity activityOf(@Nullable Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+
+        return null;
+    }
+
+    /**
+     * If the Activity of the context is finishing or destroyed
+     * @return false if the context doesn't belong to an Activity
+     */
+    static boolean isFinishing(@Nullable Context context) {
+        Activity activity = activityOf(context);
+        if (activity == null) {
+            return false;
+        }
+
+        return activity.isFinishing() || (Build.VERSION.SDK_INT >= 17 && activity.isDestroyed());
+    }
+
+    private static void onActivityDestroyed(@NonNull Activity activity) {
+        TooltipPool.onActivityDestroyed(activity);
+        TooltipInflater.onActivityDestroyed(activity);
+    }
+
+    /**
+     * Kept in a separate class so that the callbacks interface is not loaded below sdk 14
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static class Callbacks implements Application.ActivityLifecycleCallbacks {
+
+        static void register(@NonNull Application application) {
+            application.registerActivityLifecycleCallbacks(new Callbacks());
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+            TooltipContextWatcher.onActivityDestroyed(activity);
+        }
+    }
+}
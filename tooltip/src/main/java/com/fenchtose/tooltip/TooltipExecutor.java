@@ -0,0 +1,63 @@
+package com.fenchtose.tooltip;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Background thread for the work which is done before a tooltip is shown, eg. inflation of the content,
+ * and the main thread handler to deliver the results.
+ * <br><br>
+ * A single background thread is used so that the work is done in the order it was requested.
+ * It is created when it is first needed.
+ */
+final class TooltipExecutor {
+
+    private static ExecutorService background;
+    private static Handler main;
+
+    private TooltipExecutor() {
+    }
+
+    @NonNull
+    static synchronized Executor background() {
+        if (background == null) {
+            background = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, "TooltipBackground");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return background;
+    }
+
+    @NonNull
+    static synchronized Handler main() {
+        if (main == null) {
+            main = new Handler(Looper.getMainLooper());
+        }
+
+        return main;
+    }
+
+    static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+}
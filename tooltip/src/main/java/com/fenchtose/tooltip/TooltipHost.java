@@ -0,0 +1,39 @@
+package com.fenchtose.tooltip;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Host is responsible for displaying the {@link Tooltip} over the root view and removing it.
+ * <br><br>
+ * Available hosts:
+ * <ul>
+ *     <li>{@link InlineTooltipHost} : Tooltip is added to the root view as a child. Default.</li>
+ *     <li>{@link OverlayTooltipHost} : Tooltip is added to the overlay of the root view.</li>
+ *     <li>{@link WindowTooltipHost} : Tooltip is displayed in a separate window over the root view.</li>
+ * </ul>
+ */
+public interface TooltipHost {
+
+    /**
+     * Display the tooltip over the root view. Tooltip should cover the whole root view.
+     * @param root root view set in {@link Tooltip.Builder#into(ViewGroup)}
+     * @param tooltip Tooltip to be displayed
+     */
+    void attach(@NonNull ViewGroup root, @NonNull Tooltip tooltip);
+
+    /**
+     * Remove the tooltip which was displayed with {@link #attach(ViewGroup, Tooltip)}
+     * @param root root view set in {@link Tooltip.Builder#into(ViewGroup)}
+     * @param tooltip Tooltip to be removed
+     */
+    void detach(@NonNull ViewGroup root, @NonNull Tooltip tooltip);
+
+    /**
+     * Whether the tooltip is displayed in a different window than the anchor. If true, positions of
+     * the anchor and the tooltip are compared in screen coordinates instead of window coordinates.
+     * @return boolean
+     */
+    boolean isSeparateWindow();
+}
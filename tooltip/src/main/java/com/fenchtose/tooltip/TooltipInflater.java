@@ -0,0 +1,247 @@
+package com.fenchtose.tooltip;
+
+import android.app.Activity;
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Inflates the tooltip content set with {@link Tooltip.Builder#content(int, Tooltip.Binder)} on a background
+ * thread, so that showing a tooltip does not inflate it in the click handler.
+ * <br><br>
+ * Layouts can be inflated ahead of time with {@link #preinflate(int)}. One inflated view is kept per layout
+ * and it is used by the next tooltip with that layout. Views which can not be inflated on the background
+ * thread, eg. views which create a Handler, are inflated on the main thread instead.
+ * <br><br>
+ * Inflater is kept per context, like {@link TooltipPool}, and is dropped with its views when the Activity of
+ * the context is destroyed. It must only be used from the main thread.
+ */
+public final class TooltipInflater {
+
+    private static final String TAG = "TooltipInflater";
+
+    private static final Map<Context, TooltipInflater> inflaters = new WeakHashMap<>();
+
+    private final LayoutInflater inflater;
+
+    /**
+     * LayoutInflater is not thread safe, so the background thread has its own copy
+     */
+    private final LayoutInflater backgroundInflater;
+
+    /**
+     * Inflated views which are not used yet, by layout
+     */
+    private final SparseArray<View> cache = new SparseArray<>();
+
+    /**
+     * Requests which have not delivered their view yet
+     */
+    private final List<Request> requests = new ArrayList<>();
+
+    private TooltipInflater(@NonNull Context context) {
+        inflater = LayoutInflater.from(context);
+        backgroundInflater = inflater.cloneInContext(context);
+    }
+
+    /**
+     * Get the inflater for the context
+     * @param context Context of the tooltips
+     * @return TooltipInflater
+     */
+    @NonNull
+    @MainThread
+    public static TooltipInflater get(@NonNull Context context) {
+        TooltipInflater inflater = inflaters.get(context);
+        if (inflater == null) {
+            inflater = new TooltipInflater(context);
+            if (TooltipContextWatcher.watch(context)) {
+                inflaters.put(context, inflater);
+            } else {
+                Log.e(TAG, "Inflated views of an Activity are kept on sdk 14 and above only.");
+            }
+        }
+
+        return inflater;
+    }
+
+    /**
+     * Drop the inflaters of the contexts which belong to the destroyed activity, with their views
+     * and their requests which are still in flight
+     */
+    static void onActivityDestroyed(@NonNull Activity activity) {
+        Iterator<Map.Entry<Context, TooltipInflater>> iterator = inflaters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Context, TooltipInflater> entry = iterator.next();
+            if (TooltipContextWatcher.activityOf(entry.getKey()) == activity) {
+                entry.getValue().destroy();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Inflate the layout on the background thread and keep it for the next tooltip with this layout.
+     * Nothing is done if an inflated view is already kept for the layout.
+     *
+     * @param layout layout resource of the tooltip content
+     */
+    @MainThread
+    public void preinflate(@LayoutRes int layout) {
+        if (cache.get(layout) == null) {
+            inflate(layout, null);
+        }
+    }
+
+    /**
+     * Drop all the inflated views which are not used yet.
+     */
+    @MainThread
+    public void clear() {
+        cache.clear();
+    }
+
+    private void destroy() {
+        clear();
+        for (int i=0; i<requests.size(); i++) {
+            requests.get(i).drop();
+        }
+
+        requests.clear();
+    }
+
+    boolean hasInflated(@LayoutRes int layout) {
+        return cache.get(layout) != null;
+    }
+
+    /**
+     * Inflated view for the layout, inflated on the main thread if there is none.
+     */
+    @NonNull
+    View inflateNow(@LayoutRes int layout) {
+        View view = cache.get(layout);
+        if (view != null) {
+            cache.remove(layout);
+            return view;
+        }
+
+        return inflater.inflate(layout, null, false);
+    }
+
+    /**
+     * Inflate the layout on the background thread. The callback is called on the main thread
+     * unless the request is cancelled, in which case the view is kept for the next tooltip.
+     * {@link PendingContent.Callback#onDropped()} is called instead if the Activity is destroyed first.
+     */
+    @NonNull
+    Request inflate(@LayoutRes int layout, PendingContent.Callback callback) {
+        Request request = new Request(this, layout, callback);
+        requests.add(request);
+        TooltipExecutor.background().execute(request);
+        return request;
+    }
+
+    private void keep(@LayoutRes int layout, @NonNull View view) {
+        if (cache.get(layout) == null) {
+            cache.put(layout, view);
+        }
+    }
+
+    /**
+     * Inflation of a layout. It runs on the background thread first and then on the main thread
+     * to deliver the view.
+     */
+    static final class Request implements PendingContent, Runnable {
+
+        private final TooltipInflater owner;
+        @LayoutRes
+        private final int layout;
+        private final PendingContent.Callback callback;
+
+        private View view;
+
+        // Main thread only
+        private boolean cancelled = false;
+        private boolean dropped = false;
+
+        private Request(@NonNull TooltipInflater owner, @LayoutRes int layout, PendingContent.Callback callback) {
+            this.owner = owner;
+            this.layout = layout;
+            this.callback = callback;
+        }
+
+        /**
+         * Drop the request. The view is kept for the next tooltip when it is inflated.
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Owner is destroyed. The view is not delivered or kept, and the callback is told that
+         * it will never be ready unless the request is cancelled before that.
+         */
+        private void drop() {
+            dropped = true;
+            if (callback == null) {
+                return;
+            }
+
+            // Posted so that the tooltip is dismissed after the views of the Activity are removed
+            TooltipExecutor.main().post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!cancelled) {
+                        cancelled = true;
+                        callback.onDropped();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void run() {
+            if (!TooltipExecutor.isMainThread()) {
+                try {
+                    view = owner.backgroundInflater.inflate(layout, null, false);
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Failed to inflate in the background. Layout is inflated on the main thread.", e);
+                }
+
+                TooltipExecutor.main().post(this);
+                return;
+            }
+
+            owner.requests.remove(this);
+            if (dropped) {
+                view = null;
+                return;
+            }
+
+            if (view == null) {
+                view = owner.inflater.inflate(layout, null, false);
+            }
+
+            if (cancelled || callback == null) {
+                owner.keep(layout, view);
+            } else {
+                callback.onReady(view);
+            }
+
+            view = null;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.SuppressLint;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Single overlay which hosts the content of many tooltips.
+ * <br><br>
+ * Each {@link Tooltip} is a full screen ViewGroup in the root view, so N tooltips mean N full screen views
+ * to measure, lay out, hit-test and draw. TooltipLayer is added to the root view once and the contents of all
+ * the tooltips are its children. Contents are placed around their anchors like {@link Tooltip} does and all
+ * the tips are drawn in one {@link #dispatchDraw(Canvas)}.
+ * <br><br>
+ * Tooltips are shown and dismissed in batches with {@link #showAll(Tooltip.Builder...)} and {@link #dismissAll()},
+ * with a single layout pass for the whole batch. Builders provide the anchor, content, position, tip, padding,
+ * auto adjust, cancelable and listener of each tooltip. Animations, auto cancel and host are not supported
+ * in the layer.
+ * <br><br>
+ * With {@link #setAvoidCollisions(boolean)}, tooltips are placed one after the other so that they do not
+ * overlap the tooltips placed before them. See {@link #setAvoidCollisions(boolean)}.
+ */
+@SuppressLint("ViewConstructor")
+public class TooltipLayer extends ViewGroup {
+
+    private final ViewGroup rootView;
+
+    private final int[] anchorLocation = new int[2];
+    private final int[] holderLocation = new int[2];
+    private final TooltipPlacementEngine.Result placement = new TooltipPlacementEngine.Result();
+
+    /**
+     * Size of the cells of the collision grid in dp
+     */
+    private static final int GRID_CELL_SIZE_DP = 64;
+
+    /**
+     * Number of shifts tried on each side of a position, along the side of the anchor
+     */
+    private static final int MAX_SHIFTS = 4;
+
+    /**
+     * Candidate positions, as offsets from the requested position: itself, the opposite and the other two
+     */
+    private static final int[] CANDIDATE_OFFSETS = {0, 2, 1, 3};
+
+    private boolean avoidCollisions = false;
+    private TooltipSpatialIndex collisionIndex;
+
+    /**
+     * Create a layer for the root view. The layer is added to the root view when tooltips are shown
+     * and removed when all of them are dismissed.
+     * @param root root view for the tooltips
+     */
+    public TooltipLayer(@NonNull ViewGroup root) {
+        super(root.getContext());
+        this.rootView = root;
+        setWillNotDraw(true);
+    }
+
+    /**
+     * Show the tooltips of the builders.
+     * Anchor and content of each builder must be set. Root view of the builders is ignored.
+     *
+     * @param builders builders of the tooltips
+     */
+    public void showAll(@NonNull Tooltip.Builder... builders) {
+        for (Tooltip.Builder builder : builders) {
+            addTooltip(builder);
+        }
+
+        onTooltipsAdded();
+    }
+
+    /**
+     * Show the tooltips of the builders
+     * @see #showAll(Tooltip.Builder...)
+     */
+    public void showAll(@NonNull List<Tooltip.Builder> builders) {
+        for (int i=0; i<builders.size(); i++) {
+            addTooltip(builders.get(i));
+        }
+
+        onTooltipsAdded();
+    }
+
+    /**
+     * Dismiss all the tooltips of the layer and remove the layer from the root view.
+     */
+    public void dismissAll() {
+        int count = getChildCount();
+        if (count == 0) {
+            return;
+        }
+
+        for (int i=count-1; i>=0; i--) {
+            dismissAt(i);
+        }
+
+        onTooltipsRemoved();
+    }
+
+    /**
+     * Avoid overlapping tooltips. Each tooltip tries its position, the opposite position and then the other two,
+     * each with a few shifts along the side of the anchor, and takes the first one which stays inside the layer
+     * and does not overlap the tooltips placed before it. If there is no free space, the tooltip is placed at
+     * its position. Placed tooltips are kept in a grid, so a tooltip is only checked against its neighbours.
+     * Default is false.
+     *
+     * @param avoid true to avoid collisions
+     */
+    public void setAvoidCollisions(boolean avoid) {
+        if (avoidCollisions != avoid) {
+            avoidCollisions = avoid;
+            requestLayout();
+        }
+    }
+
+    public boolean isAvoidingCollisions() {
+        return avoidCollisions;
+    }
+
+    /**
+     * Number of visible tooltips
+     * @return int
+     */
+    public int getTooltipCount() {
+        return getChildCount();
+    }
+
+    private void addTooltip(@NonNull Tooltip.Builder builder) {
+        View content = builder.obtainContentView();
+        if (content == null) {
+            throw new NullPointerException("content view is null");
+        }
+
+        if (builder.getAnchorView() == null) {
+            throw new NullPointerException("anchor view is null");
+        }
+
+        addViewInLayout(content, -1, new LayoutParams(builder, content.getLayoutParams()), true);
+    }
+
+    private void onTooltipsAdded() {
+        if (getParent() == null) {
+            rootView.addView(this, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.MATCH_PARENT));
+        } else {
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    private void dismissAt(int index) {
+        View child = getChildAt(index);
+        LayoutParams params = (LayoutParams) child.getLayoutParams();
+        removeViewInLayout(child);
+
+        if (params.listener != null) {
+            params.listener.onDismissed();
+        }
+    }
+
+    private void onTooltipsRemoved() {
+        if (getChildCount() == 0) {
+            ViewGroup parent = (ViewGroup) getParent();
+            if (parent != null) {
+                parent.removeView(this);
+            }
+        } else {
+            requestLayout();
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        if (ev.getActionMasked() != MotionEvent.ACTION_DOWN) {
+            return false;
+        }
+
+        // Dismiss the cancelable tooltips which were touched outside their bounds
+        float x = ev.getX();
+        float y = ev.getY();
+        boolean removed = false;
+        for (int i=getChildCount()-1; i>=0; i--) {
+            View child = getChildAt(i);
+            LayoutParams params = (LayoutParams) child.getLayoutParams();
+            if (params.cancelable && !isInside(child, x, y)) {
+                dismissAt(i);
+                removed = true;
+            }
+        }
+
+        if (removed) {
+            onTooltipsRemoved();
+        }
+
+        return false;
+    }
+
+    private static boolean isInside(@NonNull View child, float x, float y) {
+        return x >= child.getLeft() && x < child.getRight() && y >= child.getTop() && y < child.getBottom();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        measureChildren(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        getLocationInWindow(holderLocation);
+
+        if (avoidCollisions) {
+            if (collisionIndex == null) {
+                float density = getResources().getDisplayMetrics().density;
+                collisionIndex = new TooltipSpatialIndex((int) (GRID_CELL_SIZE_DP * density));
+            }
+
+            collisionIndex.reset(r - l, b - t);
+        }
+
+        for (int i=0; i<getChildCount(); i++) {
+            View child = getChildAt(i);
+            LayoutParams params = (LayoutParams) child.getLayoutParams();
+            View anchor = params.anchor;
+            anchor.getLocationInWindow(anchorLocation);
+
+            int w = child.getMeasuredWidth();
+            int h = child.getMeasuredHeight();
+            int anchorX = anchorLocation[0] - holderLocation[0];
+            int anchorY = anchorLocation[1] - holderLocation[1];
+
+            int position;
+            if (avoidCollisions) {
+                position = placeAvoidingCollisions(params, anchorX, anchorY, anchor.getWidth(), anchor.getHeight(),
+                        l, t, r, b, w, h);
+            } else {
+                place(params, params.position, anchorX, anchorY, anchor.getWidth(), anchor.getHeight(), l, t, r, b, w, h);
+                position = placement.position;
+            }
+
+            if (params.tip != null && position != params.tipPosition) {
+                params.tipPosition = position;
+                params.tipPath = TipCache.path(params.tip, position);
+            }
+
+            params.hasTip = placement.hasTip;
+            params.tipX = placement.tipX0;
+            params.tipY = placement.tipY0;
+
+            child.layout(placement.left, placement.top, placement.left + w, placement.top + h);
+        }
+    }
+
+    private void place(@NonNull LayoutParams params, @Tooltip.Position int position,
+                       int anchorX, int anchorY, int anchorWidth, int anchorHeight,
+                       int l, int t, int r, int b, int w, int h) {
+        Tooltip.Tip tip = params.tip;
+        TooltipPlacementEngine.place(anchorX, anchorY, anchorWidth, anchorHeight,
+                l, t, r, b, w, h, params.padding,
+                tip != null ? tip.getWidth() : 0, tip != null ? tip.getHeight() : 0, tip != null,
+                position, params.autoAdjust, placement);
+    }
+
+    /**
+     * Place the tooltip in the first free candidate position and add it to the collision grid
+     * @return position of the tooltip
+     */
+    @Tooltip.Position
+    private int placeAvoidingCollisions(@NonNull LayoutParams params,
+                                        int anchorX, int anchorY, int anchorWidth, int anchorHeight,
+                                        int l, int t, int r, int b, int w, int h) {
+        int width = r - l;
+        int height = b - t;
+        // Half of the padding on each tooltip keeps the padding between two tooltips
+        int gap = params.padding / 2;
+        int tipWidth = params.tip != null ? params.tip.getWidth() : 0;
+
+        int requested = params.position;
+        if (requested == Tooltip.AUTO) {
+            // Start from the best position
+            place(params, requested, anchorX, anchorY, anchorWidth, anchorHeight, l, t, r, b, w, h);
+            requested = placement.position;
+        }
+
+        for (int i=0; i<CANDIDATE_OFFSETS.length; i++) {
+            int position = (requested + CANDIDATE_OFFSETS[i]) % 4;
+            place(params, position, anchorX, anchorY, anchorWidth, anchorHeight, l, t, r, b, w, h);
+
+            boolean horizontalShift = position == Tooltip.TOP || position == Tooltip.BOTTOM;
+            // Keep the tip inside the content while shifting
+            int maxShift = Math.max(0, ((horizontalShift ? w : h) - tipWidth) / 2);
+            int step = maxShift / MAX_SHIFTS;
+
+            for (int shift=0; shift<=2*MAX_SHIFTS; shift++) {
+                // 0, +step, -step, +2*step, -2*step...
+                int offset = step * ((shift + 1) / 2) * (shift % 2 == 0 ? -1 : 1);
+                if (shift > 0 && step == 0) {
+                    break;
+                }
+
+                int left = placement.left + (horizontalShift ? offset : 0);
+                int top = placement.top + (horizontalShift ? 0 : offset);
+
+                if (left < 0 || top < 0 || left + w > width || top + h > height) {
+                    continue;
+                }
+
+                if (!collisionIndex.intersects(left - gap, top - gap, left + w + gap, top + h + gap)) {
+                    placement.left = left;
+                    placement.top = top;
+                    collisionIndex.add(left - gap, top - gap, left + w + gap, top + h + gap);
+                    return position;
+                }
+            }
+        }
+
+        // No free space. Overlap at the requested position.
+        place(params, requested, anchorX, anchorY, anchorWidth, anchorHeight, l, t, r, b, w, h);
+        collisionIndex.add(placement.left - gap, placement.top - gap,
+                placement.left + w + gap, placement.top + h + gap);
+        return requested;
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+
+        for (int i=0; i<getChildCount(); i++) {
+            LayoutParams params = (LayoutParams) getChildAt(i).getLayoutParams();
+            if (params.hasTip) {
+                // Tip path is in local coordinates with its top vertex at (0, 0)
+                int saveCount = canvas.save();
+                canvas.translate(params.tipX, params.tipY);
+                canvas.drawPath(params.tipPath, params.tipPaint);
+                canvas.restoreToCount(saveCount);
+            }
+        }
+    }
+
+    @Override
+    protected boolean checkLayoutParams(ViewGroup.LayoutParams p) {
+        return p instanceof LayoutParams;
+    }
+
+    /**
+     * Tooltip properties of a child of the layer
+     */
+    static class LayoutParams extends ViewGroup.LayoutParams {
+
+        private static final int NO_POSITION = -1;
+
+        private final View anchor;
+        @Tooltip.Position
+        private final int position;
+        private final int padding;
+        private final boolean autoAdjust;
+        private final boolean cancelable;
+        private final Tooltip.Listener listener;
+
+        private final Tooltip.Tip tip;
+        private final Paint tipPaint;
+        private Path tipPath;
+        private int tipPosition;
+
+        private boolean hasTip = false;
+        private int tipX;
+        private int tipY;
+
+        private LayoutParams(@NonNull Tooltip.Builder builder, @Nullable ViewGroup.LayoutParams source) {
+            super(source != null ? source.width : WRAP_CONTENT, source != null ? source.height : WRAP_CONTENT);
+            anchor = builder.getAnchorView();
+            position = builder.getPosition();
+            padding = builder.getPadding();
+            autoAdjust = builder.isAutoAdjust();
+            cancelable = builder.isCancelable();
+            listener = builder.getListener();
+
+            tip = builder.getTip();
+            tipPaint = tip != null ? TipCache.paint(tip) : null;
+            // Tip path is set when the position is known, in onLayout
+            tipPath = null;
+            tipPosition = NO_POSITION;
+        }
+    }
+}
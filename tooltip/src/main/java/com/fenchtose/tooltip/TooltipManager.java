@@ -0,0 +1,232 @@
+package com.fenchtose.tooltip;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Shows tooltips one after another instead of stacking all of them in the root view.
+ * <br><br>
+ * Show requests are queued per root view ({@link Tooltip.Builder#into(ViewGroup)}). At most
+ * {@link #getMaxVisible()} tooltips are visible in a root view at once. When a visible tooltip is
+ * dismissed, the pending request with the highest priority is shown. Requests with the same priority
+ * are shown in the order they were made.
+ * <br><br>
+ * Tooltip is only built when it is shown, so queued requests do not create any views. The queue of a root
+ * view is dropped once it has no visible tooltips and no requests, and its requests are dropped when a
+ * tooltip is dismissed after the root view was detached from the window.
+ * Manager must only be used from the main thread.
+ */
+public class TooltipManager {
+
+    public static final int DEFAULT_MAX_VISIBLE = 1;
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private static final Comparator<Request> ORDER = new Comparator<Request>() {
+        @Override
+        public int compare(Request r1, Request r2) {
+            if (r1.priority != r2.priority) {
+                // Higher priority first
+                return r1.priority > r2.priority ? -1 : 1;
+            }
+
+            return r1.sequence < r2.sequence ? -1 : (r1.sequence == r2.sequence ? 0 : 1);
+        }
+    };
+
+    private final int maxVisible;
+    private final Map<ViewGroup, RootQueue> queues = new HashMap<>();
+    private long sequence = 0;
+
+    /**
+     * Create a manager which shows {@link #DEFAULT_MAX_VISIBLE} tooltip at a time in a root view
+     */
+    public TooltipManager() {
+        this(DEFAULT_MAX_VISIBLE);
+    }
+
+    /**
+     * Create a manager
+     * @param maxVisible maximum number of tooltips visible at once in a root view
+     */
+    public TooltipManager(int maxVisible) {
+        if (maxVisible <= 0) {
+            throw new IllegalArgumentException("maxVisible must be greater than 0");
+        }
+
+        this.maxVisible = maxVisible;
+    }
+
+    public int getMaxVisible() {
+        return maxVisible;
+    }
+
+    /**
+     * Show the tooltip with {@link #DEFAULT_PRIORITY}
+     * @see #show(Tooltip.Builder, int)
+     */
+    @Nullable
+    public Tooltip show(@NonNull Tooltip.Builder builder) {
+        return show(builder, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Show the tooltip if there is room for it in the root view, otherwise queue the request.
+     * The builder must not be changed while the request is queued.
+     *
+     * @param builder Builder of the tooltip. Root view must be set.
+     * @param priority Requests with higher priority are shown first
+     * @return Tooltip if it was shown right away, null if the request was queued
+     */
+    @Nullable
+    public Tooltip show(@NonNull Tooltip.Builder builder, int priority) {
+        ViewGroup root = builder.getRootView();
+        if (root == null) {
+            throw new NullPointerException("Root view is null");
+        }
+
+        RootQueue queue = queues.get(root);
+        if (queue == null) {
+            queue = new RootQueue(root);
+            queues.put(root, queue);
+        }
+
+        if (queue.visible < maxVisible && queue.pending.isEmpty()) {
+            Tooltip tooltip = queue.show(builder);
+            queue.dropIfIdle();
+            return tooltip;
+        }
+
+        queue.pending.add(new Request(builder, priority, sequence++));
+        return null;
+    }
+
+    /**
+     * Remove a queued request. Tooltips which are already visible are not affected.
+     * @param builder Builder which was passed to {@link #show(Tooltip.Builder, int)}
+     * @return true if the request was removed
+     */
+    public boolean cancel(@NonNull Tooltip.Builder builder) {
+        ViewGroup root = builder.getRootView();
+        RootQueue queue = root == null ? null : queues.get(root);
+        if (queue == null) {
+            return false;
+        }
+
+        Iterator<Request> iterator = queue.pending.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().builder == builder) {
+                iterator.remove();
+                queue.dropIfIdle();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove all the queued requests of the root view
+     * @param root root view
+     */
+    public void clear(@NonNull ViewGroup root) {
+        RootQueue queue = queues.get(root);
+        if (queue != null) {
+            queue.pending.clear();
+            queue.dropIfIdle();
+        }
+    }
+
+    /**
+     * Number of visible tooltips in the root view which were shown by this manager
+     */
+    public int getVisibleCount(@NonNull ViewGroup root) {
+        RootQueue queue = queues.get(root);
+        return queue == null ? 0 : queue.visible;
+    }
+
+    /**
+     * Number of queued requests of the root view
+     */
+    public int getPendingCount(@NonNull ViewGroup root) {
+        RootQueue queue = queues.get(root);
+        return queue == null ? 0 : queue.pending.size();
+    }
+
+    private static class Request {
+        private final Tooltip.Builder builder;
+        private final int priority;
+        private final long sequence;
+
+        private Request(@NonNull Tooltip.Builder builder, int priority, long sequence) {
+            this.builder = builder;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    private class RootQueue implements Tooltip.Listener {
+        private final ViewGroup root;
+        private final PriorityQueue<Request> pending = new PriorityQueue<>(4, ORDER);
+        private int visible = 0;
+
+        private RootQueue(@NonNull ViewGroup root) {
+            this.root = root;
+        }
+
+        @NonNull
+        private Tooltip show(@NonNull Tooltip.Builder builder) {
+            builder.setManagerListener(this);
+            visible++;
+            Tooltip tooltip;
+            try {
+                tooltip = builder.show();
+            } catch (RuntimeException e) {
+                visible--;
+                throw e;
+            } finally {
+                // Tooltip has its own copy. The builder may be shown again without the manager.
+                builder.setManagerListener(null);
+            }
+
+            // Coalesced with a visible tooltip. Nothing new is shown.
+            if (builder.isCoalesced()) {
+                visible--;
+            }
+
+            return tooltip;
+        }
+
+        @Override
+        public void onDismissed() {
+            visible--;
+
+            if (root.getWindowToken() == null) {
+                // Tooltip was dismissed because the root view is gone, eg. the activity is destroyed
+                pending.clear();
+            }
+
+            while (visible < maxVisible && !pending.isEmpty()) {
+                show(pending.poll().builder);
+            }
+
+            dropIfIdle();
+        }
+
+        /**
+         * Queued builders hold the root view, so the queue is only kept while it's in use
+         */
+        private void dropIfIdle() {
+            if (visible == 0 && pending.isEmpty() && queues.get(root) == this) {
+                queues.remove(root);
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.Log;
+import android.view.Choreographer;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+/**
+ * Frame durations of the tooltip animations, per {@link TooltipAnimation.Type} and direction.
+ * <br><br>
+ * While any tooltip is animating in or out, the time between two {@link Choreographer} frames is recorded
+ * for every running transition. Frame durations are counted in histograms with {@link #BUCKET_COUNT}
+ * fixed buckets, see {@link #getBucketUpperBound(int)}. When a transition ends, its frame count, number of
+ * janky frames and longest frame are sent to the {@link Listener}.
+ * <br><br>
+ * Recording starts when a listener is set with {@link #setListener(Listener)}. Nothing is recorded and
+ * nothing is allocated without a listener. Frame durations need sdk 16 and above.
+ * Metrics must only be used from the main thread.
+ */
+public final class TooltipMetrics {
+
+    private static final String TAG = "TooltipMetrics";
+
+    public static final int DIRECTION_IN = 0;
+    public static final int DIRECTION_OUT = 1;
+    @IntDef({DIRECTION_IN, DIRECTION_OUT})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Direction {}
+
+    /**
+     * Upper bounds of the buckets in nanoseconds. Last bucket has no upper bound.
+     */
+    private static final long[] BUCKET_BOUNDS = {
+            8000000L, 12000000L, 17000000L, 25000000L, 34000000L, 50000000L, 100000000L, 200000000L
+    };
+
+    public static final int BUCKET_COUNT = BUCKET_BOUNDS.length + 1;
+
+    /**
+     * Frames longer than this missed a vsync at 60 Hz
+     */
+    public static final long JANK_THRESHOLD_NANOS = 17000000L;
+
+    private static final int TYPE_COUNT = TooltipAnimation.SCALE_AND_FADE + 1;
+    private static final int DIRECTION_COUNT = 2;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static TooltipMetrics instance;
+
+    /**
+     * Checked by the tooltips before any other call, so that disabled metrics cost a field read
+     */
+    private static boolean enabled = false;
+
+    /**
+     * Frame counts by type, direction and bucket
+     */
+    private final long[] histograms = new long[TYPE_COUNT * DIRECTION_COUNT * BUCKET_COUNT];
+
+    // Running transitions
+    private Tooltip[] tooltips = new Tooltip[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] directions = new int[INITIAL_CAPACITY];
+    private int[] frameCounts = new int[INITIAL_CAPACITY];
+    private int[] jankCounts = new int[INITIAL_CAPACITY];
+    private long[] longestFrames = new long[INITIAL_CAPACITY];
+    private int count = 0;
+
+    private Listener listener;
+    private FrameObserver frameObserver;
+
+    /**
+     * Time of the previous frame in nanoseconds. 0 until the first frame of a recording.
+     */
+    private long lastFrameTime = 0;
+    private boolean frameScheduled = false;
+
+    private TooltipMetrics() {
+    }
+
+    @NonNull
+    public static TooltipMetrics getInstance() {
+        if (instance == null) {
+            instance = new TooltipMetrics();
+        }
+
+        return instance;
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set the listener of the transitions and start recording. Pass null to stop recording.
+     * Running transitions are not reported once recording stops.
+     *
+     * @param listener {@link Listener}
+     */
+    public void setListener(@Nullable Listener listener) {
+        if (listener != null && Build.VERSION.SDK_INT < 16) {
+            Log.e(TAG, "Frame metrics are supported on sdk 16 and above");
+            return;
+        }
+
+        this.listener = listener;
+        enabled = listener != null;
+
+        if (!enabled) {
+            for (int i=0; i<count; i++) {
+                tooltips[i] = null;
+            }
+
+            count = 0;
+        }
+    }
+
+    /**
+     * Copy the histogram of the frame durations of a type and direction
+     *
+     * @param type {@link TooltipAnimation.Type}
+     * @param direction {@link Direction}
+     * @param out frame counts by bucket, at least {@link #BUCKET_COUNT} long
+     */
+    public void copyHistogram(@TooltipAnimation.Type int type, @Direction int direction, @NonNull long[] out) {
+        System.arraycopy(histograms, offset(type, direction), out, 0, BUCKET_COUNT);
+    }
+
+    /**
+     * Clear all the histograms
+     */
+    public void reset() {
+        Arrays.fill(histograms, 0);
+    }
+
+    /**
+     * Upper bound of the frame duration of a bucket, exclusive
+     *
+     * @param bucket index of the bucket
+     * @return nanoseconds, {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket < BUCKET_BOUNDS.length ? BUCKET_BOUNDS[bucket] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Start recording a transition of the tooltip. A running transition of the tooltip in the other
+     * direction is reported and replaced.
+     */
+    void begin(@NonNull Tooltip tooltip, @TooltipAnimation.Type int type, @Direction int direction) {
+        int index = indexOf(tooltip);
+        if (index >= 0) {
+            if (directions[index] == direction && types[index] == type) {
+                return;
+            }
+
+            report(index);
+        } else {
+            if (count == tooltips.length) {
+                grow();
+            }
+
+            index = count++;
+            tooltips[index] = tooltip;
+        }
+
+        types[index] = type;
+        directions[index] = direction;
+        frameCounts[index] = 0;
+        jankCounts[index] = 0;
+        longestFrames[index] = 0;
+
+        scheduleFrame();
+    }
+
+    /**
+     * Stop recording the transition of the tooltip and report it
+     */
+    void end(@NonNull Tooltip tooltip) {
+        int index = indexOf(tooltip);
+        if (index < 0) {
+            return;
+        }
+
+        report(index);
+        removeAt(index);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void scheduleFrame() {
+        if (frameScheduled) {
+            return;
+        }
+
+        if (frameObserver == null) {
+            frameObserver = new FrameObserver();
+        }
+
+        frameScheduled = true;
+        Choreographer.getInstance().postFrameCallback(frameObserver);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void onFrame(long frameTimeNanos) {
+        frameScheduled = false;
+
+        if (count == 0) {
+            lastFrameTime = 0;
+            return;
+        }
+
+        if (lastFrameTime != 0) {
+            long duration = frameTimeNanos - lastFrameTime;
+            int bucket = bucketOf(duration);
+            boolean jank = duration > JANK_THRESHOLD_NANOS;
+
+            for (int i=0; i<count; i++) {
+                histograms[offset(types[i], directions[i]) + bucket]++;
+                frameCounts[i]++;
+                if (jank) {
+                    jankCounts[i]++;
+                }
+
+                if (duration > longestFrames[i]) {
+                    longestFrames[i] = duration;
+                }
+            }
+        }
+
+        lastFrameTime = frameTimeNanos;
+        scheduleFrame();
+    }
+
+    private void report(int index) {
+        if (listener != null) {
+            listener.onTransitionRecorded(types[index], directions[index], frameCounts[index],
+                    jankCounts[index], longestFrames[index]);
+        }
+    }
+
+    private static int bucketOf(long duration) {
+        for (int i=0; i<BUCKET_BOUNDS.length; i++) {
+            if (duration < BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+
+        return BUCKET_BOUNDS.length;
+    }
+
+    private static int offset(int type, int direction) {
+        return (type * DIRECTION_COUNT + direction) * BUCKET_COUNT;
+    }
+
+    private int indexOf(@NonNull Tooltip tooltip) {
+        for (int i=0; i<count; i++) {
+            if (tooltips[i] == tooltip) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        count--;
+        tooltips[index] = tooltips[count];
+        types[index] = types[count];
+        directions[index] = directions[count];
+        frameCounts[index] = frameCounts[count];
+        jankCounts[index] = jankCounts[count];
+        longestFrames[index] = longestFrames[count];
+        tooltips[count] = null;
+    }
+
+    private void grow() {
+        int capacity = tooltips.length * 2;
+        tooltips = Arrays.copyOf(tooltips, capacity);
+        types = Arrays.copyOf(types, capacity);
+        directions = Arrays.copyOf(directions, capacity);
+        frameCounts = Arrays.copyOf(frameCounts, capacity);
+        jankCounts = Arrays.copyOf(jankCounts, capacity);
+        longestFrames = Arrays.copyOf(longestFrames, capacity);
+    }
+
+    /**
+     * Receives the metrics of every recorded transition, on the main thread
+     */
+    public interface Listener {
+        /**
+         * @param type {@link TooltipAnimation.Type} of the transition
+         * @param direction {@link Direction} of the transition
+         * @param frameCount number of frames recorded
+         * @param jankFrameCount number of frames longer than {@link #JANK_THRESHOLD_NANOS}
+         * @param longestFrameNanos duration of the longest frame
+         */
+        void onTransitionRecorded(@TooltipAnimation.Type int type, @Direction int direction, int frameCount,
+                                  int jankFrameCount, long longestFrameNanos);
+    }
+
+    /**
+     * Choreographer callback, kept out of the metrics class which is loaded on all sdk versions
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameObserver implements Choreographer.FrameCallback {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            getInstance().onFrame(frameTimeNanos);
+        }
+    }
+}
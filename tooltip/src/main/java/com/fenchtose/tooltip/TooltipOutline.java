@@ -0,0 +1,148 @@
+package com.fenchtose.tooltip;
+
+import android.annotation.TargetApi;
+import android.graphics.Outline;
+import android.graphics.Path;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewOutlineProvider;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Outline of the bubble and the tip of a {@link Tooltip}, so that the shadow of its elevation is
+ * rendered for both of them. See {@link Tooltip.Builder#elevation(float)}.
+ * <br><br>
+ * Path is built when the tooltip lays out its content and it's kept until the next layout.
+ * Outline of any shape is supported on API 30 and above. Below that, the outline must be convex,
+ * so the convex hull of the bubble and the tip is used.
+ * <br><br>
+ * It must only be used on API 21 and above.
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+final class TooltipOutline extends ViewOutlineProvider {
+
+    private final Path path = new Path();
+    private boolean hasPath = false;
+    private int offsetX = 0;
+    private int offsetY = 0;
+
+    // Convex hull buffers
+    private final float[] hull = new float[BubblePath.MAX_VERTICES * 3];
+    private final int[] order = new int[BubblePath.MAX_VERTICES];
+    private final int[] chain = new int[BubblePath.MAX_VERTICES * 2];
+
+    /**
+     * Build the outline from the bubble vertices
+     *
+     * @param v vertices from {@link BubblePath#vertices}
+     * @param count number of vertices
+     * @param left left of the content in the tooltip
+     * @param top top of the content in the tooltip
+     */
+    void update(@NonNull float[] v, int count, int left, int top) {
+        if (Build.VERSION.SDK_INT >= 30) {
+            BubblePath.build(path, v, count, left, top);
+        } else {
+            BubblePath.build(path, hull, convexHull(v, count), left, top);
+        }
+
+        hasPath = true;
+    }
+
+    /**
+     * Offset of the outline, eg. the tracking offset of the content. Needs API 22.
+     */
+    void setOffset(int dx, int dy) {
+        offsetX = dx;
+        offsetY = dy;
+    }
+
+    void clear() {
+        path.rewind();
+        hasPath = false;
+        offsetX = 0;
+        offsetY = 0;
+    }
+
+    @Override
+    public void getOutline(View view, Outline outline) {
+        if (!hasPath) {
+            outline.setEmpty();
+            return;
+        }
+
+        if (Build.VERSION.SDK_INT >= 30) {
+            outline.setPath(path);
+        } else if (path.isConvex()) {
+            outline.setConvexPath(path);
+        } else {
+            outline.setEmpty();
+            return;
+        }
+
+        if (Build.VERSION.SDK_INT >= 22 && (offsetX != 0 || offsetY != 0)) {
+            outline.offset(offsetX, offsetY);
+        }
+    }
+
+    /**
+     * Monotone chain convex hull of the vertices into {@link #hull}, with their radii.
+     * Vertices on the edges of the hull, eg. the base of the tip, are dropped.
+     *
+     * @return number of hull vertices
+     */
+    private int convexHull(@NonNull float[] v, int count) {
+        // Sort by x, then y
+        for (int i=0; i<count; i++) {
+            int index = i;
+            int j = i - 1;
+            while (j >= 0 && compare(v, order[j], index) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+
+            order[j + 1] = index;
+        }
+
+        int size = 0;
+        // Lower chain
+        for (int i=0; i<count; i++) {
+            while (size >= 2 && cross(v, chain[size - 2], chain[size - 1], order[i]) <= 0) {
+                size--;
+            }
+
+            chain[size++] = order[i];
+        }
+
+        // Upper chain
+        int lower = size + 1;
+        for (int i=count-2; i>=0; i--) {
+            while (size >= lower && cross(v, chain[size - 2], chain[size - 1], order[i]) <= 0) {
+                size--;
+            }
+
+            chain[size++] = order[i];
+        }
+
+        // Last vertex is the first one again
+        size--;
+
+        for (int i=0; i<size; i++) {
+            System.arraycopy(v, chain[i] * 3, hull, i * 3, 3);
+        }
+
+        return size;
+    }
+
+    private static int compare(@NonNull float[] v, int a, int b) {
+        int byX = Float.compare(v[a * 3], v[b * 3]);
+        return byX != 0 ? byX : Float.compare(v[a * 3 + 1], v[b * 3 + 1]);
+    }
+
+    private static float cross(@NonNull float[] v, int o, int a, int b) {
+        float ox = v[o * 3];
+        float oy = v[o * 3 + 1];
+        return (v[a * 3] - ox) * (v[b * 3 + 1] - oy) - (v[a * 3 + 1] - oy) * (v[b * 3] - ox);
+    }
+}
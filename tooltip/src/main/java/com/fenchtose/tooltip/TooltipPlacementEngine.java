@@ -0,0 +1,319 @@
+package com.fenchtose.tooltip;
+
+/**
+ * Placement math of the {@link Tooltip}.
+ * <br><br>
+ * It only works with primitive values and writes into a caller supplied {@link Result}, so it does
+ * not allocate and does not depend on the Android framework. All the coordinates are relative to the
+ * view which holds the tooltip, except for the holder bounds which are the bounds the tooltip was
+ * laid out with.
+ */
+public final class TooltipPlacementEngine {
+
+    public static final int LEFT = 0;
+    public static final int TOP = 1;
+    public static final int RIGHT = 2;
+    public static final int BOTTOM = 3;
+
+    /**
+     * Pick the position with the most visible area. See {@link #place}.
+     */
+    public static final int AUTO = 4;
+
+    /**
+     * Order in which {@link #AUTO} tries the positions. Earlier positions win ties.
+     */
+    private static final int[] AUTO_ORDER = {TOP, BOTTOM, RIGHT, LEFT};
+
+    private static final int MIN_INT_VALUE = -2147483648;
+
+    private TooltipPlacementEngine() {
+    }
+
+    /**
+     * Result of the placement. Reuse the same instance for every layout pass.
+     */
+    public static final class Result {
+
+        /**
+         * Position of the tooltip. This is the chosen position if {@link #AUTO} was requested.
+         */
+        public int position;
+
+        /**
+         * Left and top of the tooltip content
+         */
+        public int left;
+        public int top;
+
+        /**
+         * Point where the tooltip is anchored. This is the top vertex of the tip if the tip is shown.
+         * It's used as the center for the animations.
+         */
+        public int pointX;
+        public int pointY;
+
+        /**
+         * Whether the tip was placed or not. Tip vertices are only valid if it was.
+         */
+        public boolean hasTip;
+
+        /**
+         * Vertices of the tip. (tipX0, tipY0) is the top vertex, others are the ends of the base.
+         */
+        public int tipX0;
+        public int tipY0;
+        public int tipX1;
+        public int tipY1;
+        public int tipX2;
+        public int tipY2;
+
+        private void setTip(int x1, int y1, int x2, int y2) {
+            hasTip = true;
+            tipX0 = pointX;
+            tipY0 = pointY;
+            tipX1 = x1;
+            tipY1 = y1;
+            tipX2 = x2;
+            tipY2 = y2;
+        }
+    }
+
+    /**
+     * Compute the position of the tooltip content and its tip.
+     * <br><br>
+     * With {@link #AUTO}, every position is tried and the one with the most visible area inside the holder
+     * bounds is used. Chosen position is set in {@link Result#position}.
+     *
+     * @param anchorX left of the anchor
+     * @param anchorY top of the anchor
+     * @param anchorWidth width of the anchor
+     * @param anchorHeight height of the anchor
+     * @param l left bound of the holder
+     * @param t top bound of the holder
+     * @param r right bound of the holder
+     * @param b bottom bound of the holder
+     * @param width measured width of the content
+     * @param height measured height of the content
+     * @param padding margin from the anchor and the holder bounds
+     * @param tipWidth length of the base of the tip
+     * @param tipHeight height of the tip
+     * @param showTip whether the tip is placed or not
+     * @param position {@link #LEFT}, {@link #TOP}, {@link #RIGHT}, {@link #BOTTOM} or {@link #AUTO}
+     * @param autoAdjust keep the content inside the holder bounds
+     * @param out result
+     */
+    public static void place(int anchorX, int anchorY, int anchorWidth, int anchorHeight,
+                             int l, int t, int r, int b,
+                             int width, int height, int padding,
+                             int tipWidth, int tipHeight, boolean showTip,
+                             int position, boolean autoAdjust, Result out) {
+
+        if (position != AUTO) {
+            placeAt(anchorX, anchorY, anchorWidth, anchorHeight, l, t, r, b, width, height, padding,
+                    tipWidth, tipHeight, showTip, position, autoAdjust, out);
+            return;
+        }
+
+        // Score every position, as is and, with autoAdjust, clamped inside the holder bounds.
+        // Most visible area wins, then the distance between the centers of the content and the anchor.
+        int bestPosition = TOP;
+        boolean bestAdjusted = false;
+        long bestArea = -1;
+        long bestDistance = Long.MAX_VALUE;
+
+        int anchorCenterX = anchorX + anchorWidth/2;
+        int anchorCenterY = anchorY + anchorHeight/2;
+
+        for (int i=0; i<AUTO_ORDER.length; i++) {
+            for (int adjust=0; adjust<(autoAdjust ? 2 : 1); adjust++) {
+                boolean adjusted = adjust == 1;
+                placeAt(anchorX, anchorY, anchorWidth, anchorHeight, l, t, r, b, width, height, padding,
+                        tipWidth, tipHeight, showTip, AUTO_ORDER[i], adjusted, out);
+
+                long visibleWidth = Math.min(out.left + width, r) - Math.max(out.left, l);
+                long visibleHeight = Math.min(out.top + height, b) - Math.max(out.top, t);
+                long area = visibleWidth > 0 && visibleHeight > 0 ? visibleWidth * visibleHeight : 0;
+
+                long dx = out.left + width/2 - anchorCenterX;
+                long dy = out.top + height/2 - anchorCenterY;
+                long distance = dx * dx + dy * dy;
+
+                if (area > bestArea || (area == bestArea && distance < bestDistance)) {
+                    bestPosition = AUTO_ORDER[i];
+                    bestAdjusted = adjusted;
+                    bestArea = area;
+                    bestDistance = distance;
+                }
+            }
+        }
+
+        placeAt(anchorX, anchorY, anchorWidth, anchorHeight, l, t, r, b, width, height, padding,
+                tipWidth, tipHeight, showTip, bestPosition, bestAdjusted, out);
+    }
+
+    private static void placeAt(int anchorX, int anchorY, int anchorWidth, int anchorHeight,
+                                int l, int t, int r, int b,
+                                int width, int height, int padding,
+                                int tipWidth, int tipHeight, boolean showTip,
+                                int position, boolean autoAdjust, Result out) {
+
+        int w = width;
+        int h = height;
+
+        int left = anchorX;
+        int top = anchorY;
+
+        int px = MIN_INT_VALUE;
+        int py = MIN_INT_VALUE;
+
+        out.hasTip = false;
+        out.position = position;
+
+        switch (position) {
+            case LEFT: {
+                // to left of anchor view
+                // align with horizontal axis
+
+                int diff = (anchorHeight - h) / 2;
+                // We should pad right side
+                left -= (w + padding + (showTip ? tipHeight : 0));
+                // Top and bottom padding is not required
+                top += diff;
+
+                if (showTip) {
+                    px = left + w + tipHeight;
+                    py = top + h/2;
+                    out.pointX = px;
+                    out.pointY = py;
+                    out.setTip(px - tipHeight, py + tipWidth/2, px - tipHeight, py - tipWidth/2);
+                }
+
+                break;
+            }
+
+            case RIGHT: {
+                // to right of anchor view
+                // align with horizontal axis
+                int diff = (anchorHeight - h) / 2;
+                // We should pad left side
+                left += (anchorWidth + padding + (showTip ? tipHeight : 0));
+                // Top and bottom padding is not required
+                top += diff;
+
+                if (showTip) {
+                    px = left - tipHeight;
+                    py = top + h/2;
+                    out.pointX = px;
+                    out.pointY = py;
+                    out.setTip(px + tipHeight, py + tipWidth/2, px + tipHeight, py - tipWidth/2);
+                }
+
+                break;
+            }
+
+            case TOP: {
+                // to top of anchor view
+                // align with vertical axis
+                int diff = (anchorWidth - w) / 2;
+
+                // Left and Right padding are not required.
+                left += diff;
+
+                // We should only pad bottom
+                top -= (h + padding + (showTip ? tipHeight : 0));
+
+                if (showTip) {
+                    px = left + w / 2;
+                    py = top + h + tipHeight;
+                    out.pointX = px;
+                    out.pointY = py;
+                    out.setTip(px - tipWidth / 2, py - tipHeight, px + tipWidth / 2, py - tipHeight);
+                }
+
+                break;
+            }
+
+            case BOTTOM: {
+                // to top of anchor view
+                // align with vertical axis
+                int diff = (anchorWidth - w) / 2;
+
+                // Left and Right padding are not required.
+                left += diff;
+
+                // We should only pad top
+                top += anchorHeight + padding + (showTip ? tipHeight : 0);
+
+                if (showTip) {
+                    px = left + w / 2;
+                    py = top - tipHeight;
+                    out.pointX = px;
+                    out.pointY = py;
+                    out.setTip(px - tipWidth / 2, py + tipHeight, px + tipWidth / 2, py + tipHeight);
+                }
+
+                break;
+            }
+
+        }
+
+        if (autoAdjust) {
+            switch (position) {
+                case TOP:
+                case BOTTOM:
+                    if (left + w > r) {
+                        // View is going out on the right side
+                        // Add padding to the right
+                        left = r - w - padding;
+                    } else if (left < l) {
+                        // View is going out on the left side
+                        // Add padding to the left
+                        left = l + padding;
+                    }
+                    break;
+
+                case LEFT:
+                case RIGHT:
+                    if (top + h > b) {
+                        // View is going out on the bottom side
+                        // Add padding to bottom
+                        top = b - h - padding;
+                    } else if (top < t) {
+                        // View is going out on the top side
+                        // Add padding to top
+                        top = t + padding;
+                    }
+                    break;
+            }
+        }
+
+        // Tip was not placed. We need to set anchor point for animation
+        if (px == MIN_INT_VALUE || py == MIN_INT_VALUE) {
+            switch (position) {
+                case TOP:
+                    px = left + w/2;
+                    py = top + h;
+                    break;
+                case BOTTOM:
+                    px = left + w/2;
+                    py = top;
+                    break;
+                case LEFT:
+                    px = left + w;
+                    py = top + h;
+                    break;
+                case RIGHT:
+                    px = left;
+                    py = top + h/2;
+                    break;
+            }
+
+            out.pointX = px;
+            out.pointY = py;
+        }
+
+        out.left = left;
+        out.top = top;
+    }
+}
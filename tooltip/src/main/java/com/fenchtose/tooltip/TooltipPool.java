@@ -0,0 +1,148 @@
+package com.fenchtose.tooltip;
+
+import android.app.Activity;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded pool of {@link Tooltip} instances for a {@link Context}.
+ * <br><br>
+ * Tooltips are views and hold on to the context they are created with, so the pool is kept per
+ * context. Idle tooltips hold the context too, so the pool of an Activity is dropped when the Activity
+ * is destroyed. Below sdk 14 that can't be observed and pools are not kept for Activities. Use {@link Tooltip.Builder#recycle(boolean)} to draw
+ * tooltips from the pool. They are returned to the pool when they are dismissed.
+ * <br><br>
+ * The pool is not thread safe. It must only be used from the main thread, as are the views.
+ */
+public class TooltipPool {
+
+    private static final String TAG = "TooltipPool";
+    private static final int DEFAULT_MAX_SIZE = 4;
+
+    private static final Map<Context, TooltipPool> pools = new WeakHashMap<>();
+
+    private final Tooltip[] tooltips;
+    private int size = 0;
+
+    private TooltipPool(int maxSize) {
+        this.tooltips = new Tooltip[maxSize];
+    }
+
+    /**
+     * Get the pool for the context. A pool with default size is created if it does not exist.
+     * @param context Context of the tooltips
+     * @return TooltipPool
+     */
+    @NonNull
+    public static TooltipPool get(@NonNull Context context) {
+        TooltipPool pool = pools.get(context);
+        if (pool == null) {
+            pool = new TooltipPool(DEFAULT_MAX_SIZE);
+            keep(context, pool);
+        }
+
+        return pool;
+    }
+
+    /**
+     * Replace the pool for the context with one which holds at most maxSize idle tooltips.
+     * Idle tooltips of the previous pool are dropped.
+     *
+     * @param context Context of the tooltips
+     * @param maxSize maximum number of idle tooltips kept in the pool
+     * @return TooltipPool
+     */
+    @NonNull
+    public static TooltipPool create(@NonNull Context context, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("pool size must be greater than 0");
+        }
+
+        TooltipPool pool = new TooltipPool(maxSize);
+        keep(context, pool);
+        return pool;
+    }
+
+    private static void keep(@NonNull Context context, @NonNull TooltipPool pool) {
+        if (TooltipContextWatcher.watch(context)) {
+            pools.put(context, pool);
+        } else {
+            Log.e(TAG, "Tooltips of an Activity are pooled on sdk 14 and above only.");
+        }
+    }
+
+    /**
+     * Drop the pools of the contexts which belong to the destroyed activity
+     */
+    static void onActivityDestroyed(@NonNull Activity activity) {
+        Iterator<Map.Entry<Context, TooltipPool>> iterator = pools.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Context, TooltipPool> entry = iterator.next();
+            if (TooltipContextWatcher.activityOf(entry.getKey()) == activity) {
+                entry.getValue().clear();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Number of idle tooltips in the pool
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drop all the idle tooltips.
+     */
+    public void clear() {
+        for (int i=0; i<size; i++) {
+            tooltips[i] = null;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Take an idle tooltip from the pool, or create a new one if the pool is empty.
+     * Caller has to {@link Tooltip#init(Tooltip.Builder, android.view.View)} it before use.
+     */
+    @NonNull
+    Tooltip acquire(@NonNull Context context) {
+        if (size == 0) {
+            return new Tooltip(context);
+        }
+
+        size--;
+        Tooltip tooltip = tooltips[size];
+        tooltips[size] = null;
+        return tooltip;
+    }
+
+    /**
+     * Return a dismissed tooltip to the pool. It is dropped if the pool is full or if the tooltip
+     * is still attached to some parent.
+     */
+    void release(@NonNull Tooltip tooltip) {
+        tooltip.recycle();
+
+        if (tooltip.getParent() != null || size == tooltips.length) {
+            return;
+        }
+
+        for (int i=0; i<size; i++) {
+            if (tooltips[i] == tooltip) {
+                return;
+            }
+        }
+
+        tooltips[size++] = tooltip;
+    }
+}
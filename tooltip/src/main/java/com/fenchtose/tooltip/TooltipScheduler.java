@@ -0,0 +1,228 @@
+package com.fenchtose.tooltip;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Dismisses tooltips automatically after {@link Tooltip.Builder#autoCancel(int)} time.
+ * <br><br>
+ * All the auto cancel deadlines are kept in one table and there is only one pending message, for the
+ * earliest deadline. Tooltips without auto cancel time are never added to the scheduler.
+ * <br><br>
+ * Timeouts can be paused, eg. when the app goes to background, with {@link #pause()} and resumed with
+ * {@link #resume()}. Remaining time of each tooltip is kept while paused.
+ * <br><br>
+ * Scheduler must only be used from the main thread.
+ */
+public class TooltipScheduler {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static TooltipScheduler instance;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable dismissRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dismissExpired();
+        }
+    };
+
+    private Tooltip[] tooltips = new Tooltip[INITIAL_CAPACITY];
+
+    /**
+     * Uptime of the deadline in milliseconds. Remaining time in milliseconds while paused.
+     */
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private int count = 0;
+
+    private boolean paused = false;
+
+    /**
+     * Uptime for which the message is posted. 0 if there is no pending message.
+     */
+    private long postedDeadline = 0;
+
+    private TooltipScheduler() {
+    }
+
+    @NonNull
+    public static TooltipScheduler getInstance() {
+        if (instance == null) {
+            instance = new TooltipScheduler();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Dismiss the tooltip after the given time. Existing deadline of the tooltip is replaced.
+     */
+    void schedule(@NonNull Tooltip tooltip, long delay) {
+        long deadline = paused ? delay : SystemClock.uptimeMillis() + delay;
+
+        int index = indexOf(tooltip);
+        if (index < 0) {
+            if (count == tooltips.length) {
+                grow();
+            }
+
+            index = count++;
+            tooltips[index] = tooltip;
+        }
+
+        deadlines[index] = deadline;
+        postNext();
+    }
+
+    /**
+     * Remove the deadline of the tooltip, if any.
+     */
+    void cancel(@NonNull Tooltip tooltip) {
+        int index = indexOf(tooltip);
+        if (index < 0) {
+            return;
+        }
+
+        removeAt(index);
+        postNext();
+    }
+
+    /**
+     * Pause all the timeouts. Remaining time of the tooltips is kept until {@link #resume()} is called.
+     */
+    public void pause() {
+        if (paused) {
+            return;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        for (int i=0; i<count; i++) {
+            deadlines[i] = Math.max(0, deadlines[i] - now);
+        }
+
+        paused = true;
+        removePosted();
+    }
+
+    /**
+     * Resume the timeouts paused with {@link #pause()}
+     */
+    public void resume() {
+        if (!paused) {
+            return;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        for (int i=0; i<count; i++) {
+            deadlines[i] = now + deadlines[i];
+        }
+
+        paused = false;
+        postNext();
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Number of tooltips waiting to be dismissed
+     * @return int
+     */
+    public int getPendingCount() {
+        return count;
+    }
+
+    private void dismissExpired() {
+        postedDeadline = 0;
+        if (paused) {
+            return;
+        }
+
+        long now = SystemClock.uptimeMillis();
+
+        // Dismissing a tooltip may schedule or cancel others, so look for the next expired one every time.
+        while (true) {
+            int expired = -1;
+            for (int i=0; i<count; i++) {
+                if (deadlines[i] <= now) {
+                    expired = i;
+                    break;
+                }
+            }
+
+            if (expired < 0) {
+                break;
+            }
+
+            Tooltip tooltip = tooltips[expired];
+            removeAt(expired);
+            tooltip.dismiss(true, Tooltip.DISMISS_AUTO_CANCEL);
+        }
+
+        postNext();
+    }
+
+    private void postNext() {
+        if (paused) {
+            return;
+        }
+
+        if (count == 0) {
+            removePosted();
+            return;
+        }
+
+        long earliest = deadlines[0];
+        for (int i=1; i<count; i++) {
+            if (deadlines[i] < earliest) {
+                earliest = deadlines[i];
+            }
+        }
+
+        if (earliest == postedDeadline) {
+            return;
+        }
+
+        handler.removeCallbacks(dismissRunnable);
+        handler.postAtTime(dismissRunnable, earliest);
+        postedDeadline = earliest;
+    }
+
+    private void removePosted() {
+        if (postedDeadline != 0) {
+            handler.removeCallbacks(dismissRunnable);
+            postedDeadline = 0;
+        }
+    }
+
+    private int indexOf(@NonNull Tooltip tooltip) {
+        for (int i=0; i<count; i++) {
+            if (tooltips[i] == tooltip) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        count--;
+        tooltips[index] = tooltips[count];
+        deadlines[index] = deadlines[count];
+        tooltips[count] = null;
+    }
+
+    private void grow() {
+        Tooltip[] newTooltips = new Tooltip[tooltips.length * 2];
+        long[] newDeadlines = new long[deadlines.length * 2];
+        System.arraycopy(tooltips, 0, newTooltips, 0, count);
+        System.arraycopy(deadlines, 0, newDeadlines, 0, count);
+        tooltips = newTooltips;
+        deadlines = newDeadlines;
+    }
+}
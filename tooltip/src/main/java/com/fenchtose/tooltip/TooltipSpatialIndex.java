@@ -0,0 +1,152 @@
+package com.fenchtose.tooltip;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid of the rects of placed tooltips, used to find free space for the next tooltip
+ * without checking it against every other tooltip.
+ * <br><br>
+ * Bounds are split into square cells and each rect is added to the list of every cell it covers.
+ * A query only checks the rects of the cells it covers, so its cost depends on how crowded that part
+ * of the screen is and not on the total number of tooltips. Rects outside the bounds are kept in the
+ * cells at the edges.
+ * <br><br>
+ * Rects and cell lists are kept in primitive arrays which are reused by {@link #reset(int, int)},
+ * so nothing is allocated per layout once the arrays are big enough.
+ */
+final class TooltipSpatialIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = -1;
+
+    private final int cellSize;
+    private int columns = 0;
+    private int rows = 0;
+
+    /**
+     * First node of each cell, {@link #NONE} if the cell is empty
+     */
+    private int[] cellHeads = new int[0];
+
+    private int[] lefts = new int[INITIAL_CAPACITY];
+    private int[] tops = new int[INITIAL_CAPACITY];
+    private int[] rights = new int[INITIAL_CAPACITY];
+    private int[] bottoms = new int[INITIAL_CAPACITY];
+    private int rectCount = 0;
+
+    /**
+     * Nodes of the cell lists. Each node points to a rect and to the next node of the same cell.
+     */
+    private int[] nodeRects = new int[INITIAL_CAPACITY];
+    private int[] nodeNext = new int[INITIAL_CAPACITY];
+    private int nodeCount = 0;
+
+    /**
+     * @param cellSize size of the grid cells in pixels
+     */
+    TooltipSpatialIndex(int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+    }
+
+    /**
+     * Remove all the rects and resize the grid to the bounds
+     */
+    void reset(int width, int height) {
+        columns = Math.max(1, (width + cellSize - 1) / cellSize);
+        rows = Math.max(1, (height + cellSize - 1) / cellSize);
+
+        int cells = columns * rows;
+        if (cellHeads.length < cells) {
+            cellHeads = new int[cells];
+        }
+
+        Arrays.fill(cellHeads, 0, cells, NONE);
+        rectCount = 0;
+        nodeCount = 0;
+    }
+
+    int size() {
+        return rectCount;
+    }
+
+    void add(int left, int top, int right, int bottom) {
+        if (rectCount == lefts.length) {
+            growRects();
+        }
+
+        int rect = rectCount++;
+        lefts[rect] = left;
+        tops[rect] = top;
+        rights[rect] = right;
+        bottoms[rect] = bottom;
+
+        int c0 = column(left);
+        int c1 = column(right - 1);
+        int r0 = row(top);
+        int r1 = row(bottom - 1);
+
+        for (int row=r0; row<=r1; row++) {
+            for (int column=c0; column<=c1; column++) {
+                if (nodeCount == nodeRects.length) {
+                    growNodes();
+                }
+
+                int cell = row * columns + column;
+                int node = nodeCount++;
+                nodeRects[node] = rect;
+                nodeNext[node] = cellHeads[cell];
+                cellHeads[cell] = node;
+            }
+        }
+    }
+
+    /**
+     * Whether the rect overlaps any of the added rects
+     */
+    boolean intersects(int left, int top, int right, int bottom) {
+        if (rectCount == 0) {
+            return false;
+        }
+
+        int c0 = column(left);
+        int c1 = column(right - 1);
+        int r0 = row(top);
+        int r1 = row(bottom - 1);
+
+        for (int row=r0; row<=r1; row++) {
+            for (int column=c0; column<=c1; column++) {
+                for (int node=cellHeads[row * columns + column]; node!=NONE; node=nodeNext[node]) {
+                    int rect = nodeRects[node];
+                    if (left < rights[rect] && lefts[rect] < right
+                            && top < bottoms[rect] && tops[rect] < bottom) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private int column(int x) {
+        return Math.min(columns - 1, Math.max(0, x / cellSize));
+    }
+
+    private int row(int y) {
+        return Math.min(rows - 1, Math.max(0, y / cellSize));
+    }
+
+    private void growRects() {
+        int capacity = lefts.length * 2;
+        lefts = Arrays.copyOf(lefts, capacity);
+        tops = Arrays.copyOf(tops, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        bottoms = Arrays.copyOf(bottoms, capacity);
+    }
+
+    private void growNodes() {
+        int capacity = nodeRects.length * 2;
+        nodeRects = Arrays.copyOf(nodeRects, capacity);
+        nodeNext = Arrays.copyOf(nodeNext, capacity);
+    }
+}
@@ -0,0 +1,43 @@
+package com.fenchtose.tooltip;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Section markers of the tooltip work, eg. for system traces. Set it with {@link Tooltip#setTracer(TooltipTracer)}.
+ * <br><br>
+ * Section names are constants and sections are nested on the main thread. Default tracer is {@link #NO_OP},
+ * so tracing costs one interface call per section when it's not used. {@link SystemTooltipTracer} writes
+ * the sections to {@link android.os.Trace}.
+ */
+public interface TooltipTracer {
+
+    String SECTION_MEASURE = "Tooltip:measure";
+    String SECTION_LAYOUT = "Tooltip:layout";
+    String SECTION_DRAW = "Tooltip:draw";
+    String SECTION_ANIMATE_IN = "Tooltip:animateIn";
+    String SECTION_DISMISS = "Tooltip:dismiss";
+
+    /**
+     * Tracer which does nothing
+     */
+    TooltipTracer NO_OP = new TooltipTracer() {
+        @Override
+        public void beginSection(@NonNull String name) {
+        }
+
+        @Override
+        public void endSection() {
+        }
+    };
+
+    /**
+     * Begin a section. Called on the main thread.
+     * @param name one of the section constants
+     */
+    void beginSection(@NonNull String name);
+
+    /**
+     * End the last section which was begun
+     */
+    void endSection();
+}
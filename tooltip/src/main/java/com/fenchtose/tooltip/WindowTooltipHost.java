@@ -0,0 +1,58 @@
+package com.fenchtose.tooltip;
+
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.PopupWindow;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Displays the {@link Tooltip} in a {@link PopupWindow} which covers the root view.
+ * <br><br>
+ * The tooltip is laid out in its own window, so neither the root view nor its parents are laid out
+ * again when the tooltip is shown or dismissed.
+ * <br><br>
+ * Popup window consumes the touch events in the area of the root view while the tooltip is shown.
+ * Views under the tooltip do not receive them.
+ */
+public class WindowTooltipHost implements TooltipHost {
+
+    private final Map<Tooltip, PopupWindow> windows = new HashMap<>();
+    private final int[] rootLocation = new int[2];
+
+    @Override
+    public void attach(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        PopupWindow window = new PopupWindow(tooltip, root.getWidth(), root.getHeight(), false);
+        window.setTouchable(true);
+        window.setOutsideTouchable(false);
+        window.setClippingEnabled(false);
+        window.setBackgroundDrawable(null);
+        window.setAnimationStyle(0);
+
+        windows.put(tooltip, window);
+
+        root.getLocationOnScreen(rootLocation);
+        window.showAtLocation(root, Gravity.NO_GRAVITY, rootLocation[0], rootLocation[1]);
+    }
+
+    @Override
+    public void detach(@NonNull ViewGroup root, @NonNull Tooltip tooltip) {
+        PopupWindow window = windows.remove(tooltip);
+        if (window != null) {
+            window.dismiss();
+        }
+
+        // Popup window keeps the tooltip in its decor view
+        if (tooltip.getParent() instanceof ViewGroup) {
+            ((ViewGroup) tooltip.getParent()).removeView(tooltip);
+        }
+    }
+
+    @Override
+    public boolean isSeparateWindow() {
+        return true;
+    }
+}
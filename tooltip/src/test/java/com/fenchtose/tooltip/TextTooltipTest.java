@@ -0,0 +1,46 @@
+package com.fenchtose.tooltip;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Wrap width of the text layout. Text is 5000px wide on one line and padding is 16px.
+ */
+public class TextTooltipTest {
+
+    private static final int DESIRED_WIDTH = 5000;
+    private static final int PADDING = 16;
+
+    @Test
+    public void defaultStyle_wrapsToAvailableWidth() {
+        // maxWidth is 0 by default
+        assertEquals(1080 - 2 * PADDING, TextTooltip.Style.wrapWidth(DESIRED_WIDTH, 0, PADDING, 1080));
+    }
+
+    @Test
+    public void defaultStyle_shortTextIsNotWrapped() {
+        assertEquals(200, TextTooltip.Style.wrapWidth(200, 0, PADDING, 1080));
+    }
+
+    @Test
+    public void defaultStyle_unknownAvailableWidth_isOneLine() {
+        assertEquals(DESIRED_WIDTH, TextTooltip.Style.wrapWidth(DESIRED_WIDTH, 0, PADDING, 0));
+    }
+
+    @Test
+    public void maxWidth_narrowerThanAvailableWidth_wins() {
+        assertEquals(600 - 2 * PADDING, TextTooltip.Style.wrapWidth(DESIRED_WIDTH, 600, PADDING, 1080));
+    }
+
+    @Test
+    public void availableWidth_narrowerThanMaxWidth_wins() {
+        assertEquals(400 - 2 * PADDING, TextTooltip.Style.wrapWidth(DESIRED_WIDTH, 600, PADDING, 400));
+    }
+
+    @Test
+    public void width_isAtLeastOne() {
+        assertEquals(1, TextTooltip.Style.wrapWidth(0, 0, PADDING, 1080));
+        assertEquals(1, TextTooltip.Style.wrapWidth(DESIRED_WIDTH, 20, PADDING, 1080));
+    }
+}
@@ -0,0 +1,103 @@
+package com.fenchtose.tooltip;
+
+import android.os.Binder;
+import android.os.IBinder;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs against the android.jar with default values ({@code unitTests.returnDefaultValues}), so the views
+ * are inert and the tooltips are never laid out.
+ */
+public class TooltipManagerTest {
+
+    private FrameLayout root;
+    private TooltipManager manager;
+
+    @Before
+    public void setUp() {
+        root = new FrameLayout(null) {
+            private final IBinder token = new Binder();
+
+            @Override
+            public IBinder getWindowToken() {
+                // Attached to a window
+                return token;
+            }
+        };
+        manager = new TooltipManager();
+    }
+
+    private Tooltip.Builder builder() {
+        return new Tooltip.Builder(null)
+                .anchor(new View(null))
+                .content(new View(null))
+                .into(root);
+    }
+
+    @Test
+    public void show_clearsManagerListenerOfBuilder() {
+        Tooltip.Builder builder = builder();
+
+        assertNotNull(manager.show(builder));
+        assertNull(builder.getManagerListener());
+        assertEquals(1, manager.getVisibleCount(root));
+    }
+
+    @Test
+    public void failedShow_clearsManagerListenerOfBuilder() {
+        Tooltip.Builder builder = new Tooltip.Builder(null).into(root);
+
+        try {
+            manager.show(builder);
+            fail("anchor is not set");
+        } catch (NullPointerException expected) {
+        }
+
+        assertNull(builder.getManagerListener());
+        assertEquals(0, manager.getVisibleCount(root));
+    }
+
+    @Test
+    public void builderShownAgainDirectly_doesNotReleaseQueue() {
+        Tooltip.Builder shown = builder();
+        Tooltip.Builder queued = builder();
+
+        assertNotNull(manager.show(shown));
+        assertNull(manager.show(queued));
+
+        // Same builder outside the manager
+        shown.show().dismiss();
+
+        assertEquals(1, manager.getVisibleCount(root));
+        assertEquals(1, manager.getPendingCount(root));
+    }
+
+    @Test
+    public void dismiss_showsQueuedTooltip() {
+        Tooltip first = manager.show(builder());
+        assertNull(manager.show(builder()));
+
+        first.dismiss();
+
+        assertEquals(1, manager.getVisibleCount(root));
+        assertEquals(0, manager.getPendingCount(root));
+    }
+
+    @Test
+    public void dismissAfterRootDetached_dropsQueue() {
+        FrameLayout detachedRoot = new FrameLayout(null);
+        Tooltip first = manager.show(builder().into(detachedRoot));
+        assertNull(manager.show(builder().into(detachedRoot)));
+
+        first.dismiss();
+
+        assertEquals(0, manager.getVisibleCount(detachedRoot));
+        assertEquals(0, manager.getPendingCount(detachedRoot));
+    }
+}
@@ -0,0 +1,248 @@
+package com.fenchtose.tooltip;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.fenchtose.tooltip.TooltipPlacementEngine.AUTO;
+import static com.fenchtose.tooltip.TooltipPlacementEngine.BOTTOM;
+import static com.fenchtose.tooltip.TooltipPlacementEngine.LEFT;
+import static com.fenchtose.tooltip.TooltipPlacementEngine.RIGHT;
+import static com.fenchtose.tooltip.TooltipPlacementEngine.TOP;
+import static org.junit.Assert.*;
+
+/**
+ * Holder is 1000x2000. Content is 300x150 with 10px padding and a 20x10 tip.
+ */
+public class TooltipPlacementEngineTest {
+
+    private static final int HOLDER_WIDTH = 1000;
+    private static final int HOLDER_HEIGHT = 2000;
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 150;
+    private static final int PADDING = 10;
+    private static final int TIP_WIDTH = 20;
+    private static final int TIP_HEIGHT = 10;
+
+    private final TooltipPlacementEngine.Result result = new TooltipPlacementEngine.Result();
+
+    private void place(int anchorX, int anchorY, int anchorWidth, int anchorHeight,
+                       int position, boolean showTip, boolean autoAdjust) {
+        TooltipPlacementEngine.place(anchorX, anchorY, anchorWidth, anchorHeight,
+                0, 0, HOLDER_WIDTH, HOLDER_HEIGHT, WIDTH, HEIGHT, PADDING,
+                TIP_WIDTH, TIP_HEIGHT, showTip, position, autoAdjust, result);
+    }
+
+    @Test
+    public void top_isCenteredAboveAnchor() {
+        place(400, 900, 200, 100, TOP, true, true);
+
+        assertEquals(TOP, result.position);
+        assertEquals(350, result.left);
+        assertEquals(900 - HEIGHT - PADDING - TIP_HEIGHT, result.top);
+
+        assertTrue(result.hasTip);
+        assertEquals(500, result.tipX0);
+        assertEquals(890, result.tipY0);
+        assertEquals(490, result.tipX1);
+        assertEquals(880, result.tipY1);
+        assertEquals(510, result.tipX2);
+        assertEquals(880, result.tipY2);
+        assertEquals(result.tipX0, result.pointX);
+        assertEquals(result.tipY0, result.pointY);
+    }
+
+    @Test
+    public void bottom_isCenteredBelowAnchor() {
+        place(400, 900, 200, 100, BOTTOM, true, true);
+
+        assertEquals(BOTTOM, result.position);
+        assertEquals(350, result.left);
+        assertEquals(900 + 100 + PADDING + TIP_HEIGHT, result.top);
+
+        assertTrue(result.hasTip);
+        assertEquals(500, result.tipX0);
+        assertEquals(1010, result.tipY0);
+        assertEquals(1020, result.tipY1);
+        assertEquals(1020, result.tipY2);
+    }
+
+    @Test
+    public void left_isCenteredBesideAnchor() {
+        place(400, 900, 200, 100, LEFT, true, true);
+
+        assertEquals(LEFT, result.position);
+        assertEquals(400 - WIDTH - PADDING - TIP_HEIGHT, result.left);
+        assertEquals(875, result.top);
+
+        assertTrue(result.hasTip);
+        assertEquals(390, result.tipX0);
+        assertEquals(950, result.tipY0);
+        assertEquals(380, result.tipX1);
+        assertEquals(380, result.tipX2);
+    }
+
+    @Test
+    public void right_isCenteredBesideAnchor() {
+        place(400, 900, 200, 100, RIGHT, true, true);
+
+        assertEquals(RIGHT, result.position);
+        assertEquals(400 + 200 + PADDING + TIP_HEIGHT, result.left);
+        assertEquals(875, result.top);
+
+        assertTrue(result.hasTip);
+        assertEquals(610, result.tipX0);
+        assertEquals(950, result.tipY0);
+        assertEquals(620, result.tipX1);
+        assertEquals(620, result.tipX2);
+    }
+
+    @Test
+    public void withoutTip_contentTouchesPadding() {
+        place(400, 900, 200, 100, TOP, false, true);
+
+        assertFalse(result.hasTip);
+        assertEquals(900 - HEIGHT - PADDING, result.top);
+
+        // Animations start from the edge of the content next to the anchor
+        assertEquals(500, result.pointX);
+        assertEquals(900 - PADDING, result.pointY);
+    }
+
+    @Test
+    public void autoAdjust_clampsToRightEdge() {
+        place(900, 900, 100, 100, TOP, true, true);
+
+        assertEquals(HOLDER_WIDTH - WIDTH - PADDING, result.left);
+
+        // Tip still points at the anchor
+        assertEquals(950, result.tipX0);
+    }
+
+    @Test
+    public void autoAdjust_clampsToLeftEdge() {
+        place(0, 900, 100, 100, BOTTOM, true, true);
+
+        assertEquals(PADDING, result.left);
+        assertEquals(50, result.tipX0);
+    }
+
+    @Test
+    public void autoAdjust_clampsToBottomEdge() {
+        place(400, 1950, 100, 50, RIGHT, true, true);
+
+        assertEquals(HOLDER_HEIGHT - HEIGHT - PADDING, result.top);
+        assertEquals(1975, result.tipY0);
+    }
+
+    @Test
+    public void autoAdjust_clampsToTopEdge() {
+        place(400, 0, 100, 50, LEFT, true, true);
+
+        assertEquals(PADDING, result.top);
+        assertEquals(25, result.tipY0);
+    }
+
+    @Test
+    public void withoutAutoAdjust_contentOverflows() {
+        place(900, 900, 100, 100, TOP, true, false);
+
+        assertEquals(800, result.left);
+        assertTrue(result.left + WIDTH > HOLDER_WIDTH);
+    }
+
+    @Test
+    public void autoAdjust_doesNotMoveAlongPositionAxis() {
+        // No room above the anchor. TOP is only adjusted horizontally.
+        place(400, 0, 200, 100, TOP, true, true);
+
+        assertEquals(-HEIGHT - PADDING - TIP_HEIGHT, result.top);
+    }
+
+    @Test
+    public void auto_prefersTopWhenEverySideFits() {
+        place(400, 900, 200, 100, AUTO, true, true);
+
+        assertEquals(TOP, result.position);
+        assertEquals(350, result.left);
+        assertEquals(730, result.top);
+    }
+
+    @Test
+    public void auto_picksBottomBelowTopEdge() {
+        place(400, 20, 200, 100, AUTO, true, true);
+
+        assertEquals(BOTTOM, result.position);
+    }
+
+    @Test
+    public void auto_picksTopAboveBottomEdge() {
+        place(400, 1880, 200, 100, AUTO, true, true);
+
+        assertEquals(TOP, result.position);
+    }
+
+    @Test
+    public void auto_picksSideWhenContentDoesNotFitVertically() {
+        // 1000x400 holder, 300x300 content. Only RIGHT fits completely.
+        TooltipPlacementEngine.place(0, 150, 100, 100, 0, 0, 1000, 400, 300, 300, PADDING,
+                TIP_WIDTH, TIP_HEIGHT, true, AUTO, true, result);
+
+        assertEquals(RIGHT, result.position);
+        assertEquals(120, result.left);
+        assertEquals(50, result.top);
+    }
+
+    @Test
+    public void auto_matchesChosenSide() {
+        place(900, 20, 100, 100, AUTO, true, true);
+        int position = result.position;
+        int left = result.left;
+        int top = result.top;
+        int tipX = result.tipX0;
+        int tipY = result.tipY0;
+
+        place(900, 20, 100, 100, position, true, true);
+        assertEquals(left, result.left);
+        assertEquals(top, result.top);
+        assertEquals(tipX, result.tipX0);
+        assertEquals(tipY, result.tipY0);
+    }
+
+    @Test
+    public void auto_hasLeastOverflow() {
+        Random random = new Random(42);
+        TooltipPlacementEngine.Result side = new TooltipPlacementEngine.Result();
+
+        for (int i=0; i<1000; i++) {
+            int anchorWidth = 1 + random.nextInt(300);
+            int anchorHeight = 1 + random.nextInt(300);
+            int anchorX = random.nextInt(HOLDER_WIDTH) - anchorWidth/2;
+            int anchorY = random.nextInt(HOLDER_HEIGHT) - anchorHeight/2;
+            int width = 1 + random.nextInt(800);
+            int height = 1 + random.nextInt(800);
+            boolean autoAdjust = random.nextBoolean();
+
+            TooltipPlacementEngine.place(anchorX, anchorY, anchorWidth, anchorHeight,
+                    0, 0, HOLDER_WIDTH, HOLDER_HEIGHT, width, height, PADDING,
+                    TIP_WIDTH, TIP_HEIGHT, true, AUTO, autoAdjust, result);
+            long chosen = visibleArea(result, width, height);
+
+            for (int position=LEFT; position<=BOTTOM; position++) {
+                TooltipPlacementEngine.place(anchorX, anchorY, anchorWidth, anchorHeight,
+                        0, 0, HOLDER_WIDTH, HOLDER_HEIGHT, width, height, PADDING,
+                        TIP_WIDTH, TIP_HEIGHT, true, position, autoAdjust, side);
+
+                assertTrue("case " + i + ": position " + position + " overflows less than "
+                        + result.position, visibleArea(side, width, height) <= chosen);
+            }
+        }
+    }
+
+    private static long visibleArea(TooltipPlacementEngine.Result result, int width, int height) {
+        long visibleWidth = Math.min(result.left + width, HOLDER_WIDTH) - Math.max(result.left, 0);
+        long visibleHeight = Math.min(result.top + height, HOLDER_HEIGHT) - Math.max(result.top, 0);
+        return visibleWidth > 0 && visibleHeight > 0 ? visibleWidth * visibleHeight : 0;
+    }
+}
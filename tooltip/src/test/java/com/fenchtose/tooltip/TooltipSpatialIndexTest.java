@@ -0,0 +1,107 @@
+package com.fenchtose.tooltip;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TooltipSpatialIndexTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int CELL_SIZE = 64;
+
+    @Test
+    public void empty_intersectsNothing() {
+        TooltipSpatialIndex index = new TooltipSpatialIndex(CELL_SIZE);
+        index.reset(WIDTH, HEIGHT);
+
+        assertEquals(0, index.size());
+        assertFalse(index.intersects(0, 0, WIDTH, HEIGHT));
+    }
+
+    @Test
+    public void touchingEdges_doNotIntersect() {
+        TooltipSpatialIndex index = new TooltipSpatialIndex(CELL_SIZE);
+        index.reset(WIDTH, HEIGHT);
+        index.add(100, 100, 200, 200);
+
+        assertFalse(index.intersects(200, 100, 300, 200));
+        assertFalse(index.intersects(100, 200, 200, 300));
+        assertTrue(index.intersects(199, 199, 300, 300));
+    }
+
+    @Test
+    public void rectsOutsideBounds_areFound() {
+        TooltipSpatialIndex index = new TooltipSpatialIndex(CELL_SIZE);
+        index.reset(WIDTH, HEIGHT);
+        index.add(-300, -300, -100, -100);
+        index.add(WIDTH + 100, HEIGHT + 100, WIDTH + 300, HEIGHT + 300);
+
+        assertTrue(index.intersects(-200, -200, 0, 0));
+        assertTrue(index.intersects(WIDTH + 200, HEIGHT + 200, WIDTH + 250, HEIGHT + 250));
+        assertFalse(index.intersects(0, 0, WIDTH, HEIGHT));
+    }
+
+    @Test
+    public void reset_removesRects() {
+        TooltipSpatialIndex index = new TooltipSpatialIndex(CELL_SIZE);
+        index.reset(WIDTH, HEIGHT);
+        index.add(100, 100, 200, 200);
+
+        index.reset(WIDTH, HEIGHT);
+
+        assertEquals(0, index.size());
+        assertFalse(index.intersects(100, 100, 200, 200));
+    }
+
+    @Test
+    public void intersects_matchesBruteForce() {
+        Random random = new Random(7);
+        TooltipSpatialIndex index = new TooltipSpatialIndex(CELL_SIZE);
+
+        for (int round=0; round<50; round++) {
+            // Bounds change between rounds, like the layer being resized
+            int width = 200 + random.nextInt(WIDTH);
+            int height = 200 + random.nextInt(HEIGHT);
+            index.reset(width, height);
+
+            int count = random.nextInt(40);
+            int[][] rects = new int[count][];
+            for (int i=0; i<count; i++) {
+                rects[i] = randomRect(random, width, height);
+                index.add(rects[i][0], rects[i][1], rects[i][2], rects[i][3]);
+            }
+
+            assertEquals(count, index.size());
+
+            for (int query=0; query<200; query++) {
+                int[] q = randomRect(random, width, height);
+                assertEquals("round " + round + ", query " + query,
+                        bruteForce(rects, q), index.intersects(q[0], q[1], q[2], q[3]));
+            }
+        }
+    }
+
+    /**
+     * Rect which may be partially or completely outside the bounds
+     */
+    private static int[] randomRect(Random random, int width, int height) {
+        int w = 1 + random.nextInt(400);
+        int h = 1 + random.nextInt(300);
+        int left = random.nextInt(width + 400) - 200;
+        int top = random.nextInt(height + 400) - 200;
+        return new int[] {left, top, left + w, top + h};
+    }
+
+    private static boolean bruteForce(int[][] rects, int[] q) {
+        for (int[] rect : rects) {
+            if (q[0] < rect[2] && rect[0] < q[2] && q[1] < rect[3] && rect[1] < q[3]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}